@@ -0,0 +1,76 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 저장/조회 처리량. 코어 수에 따른 확장성은 스레드 수(jmh { threads = N } 또는 JMH -t 옵션)를 바꿔서 비교한다.
+ * file 은 그룹 커밋, file-fsync 는 저장할 때마다 force() 하는 FileItemRepository 이다. 동시 쓰기 차이는 -t 16 등으로 본다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemRepositoryBenchmark {
+
+    private static final int PRELOADED = 100_000;
+
+    @Param({"memory", "columnar", "file", "file-fsync"})
+    String type;
+
+    ItemRepository itemRepository;
+    Path directory;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        itemRepository = create();
+        List<Item> items = new ArrayList<>(PRELOADED);
+        for (int i = 0; i < PRELOADED; i++) {
+            items.add(new Item("item" + i, 10000, 10));
+        }
+        itemRepository.saveAll(items);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (itemRepository instanceof FileItemRepository) {
+            ((FileItemRepository) itemRepository).close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private ItemRepository create() throws IOException {
+        switch (type) {
+            case "columnar":
+                return new ColumnarItemRepository();
+            case "file":
+            case "file-fsync":
+                directory = Files.createTempDirectory("items");
+                return new FileItemRepository(directory.toString(), 256 << 20, "file".equals(type));
+            default:
+                return new MemoryItemRepository();
+        }
+    }
+
+    @Benchmark
+    public Item save() {
+        return itemRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    public Item findById() {
+        return itemRepository.findById((long) ThreadLocalRandom.current().nextInt(1, PRELOADED + 1));
+    }
+}
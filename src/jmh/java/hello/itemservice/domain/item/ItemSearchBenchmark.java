@@ -0,0 +1,50 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 100만 건에서 상품명 prefix / 가격 범위 검색. memory 는 정렬 인덱스(ConcurrentSkipListSet), columnar 는 값별 위치 배열 인덱스(TreeMap)를 사용한다.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ItemSearchBenchmark {
+
+    private static final int ITEMS = 1_000_000;
+
+    @Param({"memory", "columnar"})
+    String type;
+
+    ItemRepository itemRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemRepository = "memory".equals(type) ? new MemoryItemRepository() : new ColumnarItemRepository();
+        Random random = new Random(1);
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item("item" + i, 1000 + random.nextInt(10_000_000), 10));
+        }
+        itemRepository.saveAll(items);
+    }
+
+    //  item12345, item123450 ~ item123459 - 11건
+    @Benchmark
+    public List<Item> findByItemNamePrefix() {
+        return itemRepository.findByItemNamePrefix("item12345", ItemPage.DEFAULT_SIZE);
+    }
+
+    //  약 1000건 중 가격이 낮은 20건
+    @Benchmark
+    public List<Item> findByPriceRange() {
+        return itemRepository.findByPriceRange(5_000_000, 5_010_000, ItemPage.DEFAULT_SIZE);
+    }
+}
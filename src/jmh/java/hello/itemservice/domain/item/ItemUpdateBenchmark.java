@@ -0,0 +1,68 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 동시에 수정할 때의 처리량.
+ * memory 는 상품 단위로만 version 확인과 교체를 직렬화하므로 서로 다른 상품을 수정하는 스레드는 서로 기다리지 않는다.
+ * columnar 는 저장소 전체 쓰기 락을 사용한다. hotItems=1 은 모든 스레드가 한 상품을 두고 경쟁하는 경우다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemUpdateBenchmark {
+
+    private static final int ITEMS = 100_000;
+
+    @Param({"memory", "columnar"})
+    String type;
+
+    @Param({"1", "100000"})
+    int hotItems;
+
+    ItemRepository itemRepository;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        itemRepository = "memory".equals(type) ? new MemoryItemRepository() : new ColumnarItemRepository();
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Item("item" + i, 10000, 0));
+        }
+        itemRepository.saveAll(items);
+    }
+
+    //  version 없이 덮어쓰기
+    @Benchmark
+    public boolean update() {
+        return itemRepository.update(randomId(), new Item("item", 20000, 10));
+    }
+
+    //  조회 -> version 을 담아 수정, 다른 스레드가 먼저 수정했으면 다시 조회해서 재시도한다. 시도 횟수를 반환한다.
+    @Benchmark
+    public int versionedIncrement() {
+        long id = randomId();
+        int attempts = 0;
+        boolean updated;
+        do {
+            attempts++;
+            Item current = itemRepository.findById(id);
+            Item updateParam = new Item(current.getItemName(), current.getPrice(), current.getQuantity() + 1);
+            updateParam.setVersion(current.getVersion());
+            updated = itemRepository.update(id, updateParam);
+        } while (!updated);
+        return attempts;
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextInt(1, hotItems + 1);
+    }
+}
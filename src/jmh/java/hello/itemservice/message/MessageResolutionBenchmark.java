@@ -0,0 +1,118 @@
+package hello.itemservice.message;
+
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류 코드 생성(MessageCodesResolver)과 errors.properties 메시지 조회 비용
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageResolutionBenchmark {
+
+    MessageCodesResolver codesResolver;
+    MessageCodesResolver cachingCodesResolver;
+    MessageSource messageSource;
+    MessageSource preResolvedMessageSource;
+
+    FieldError requiredError;
+    FieldError rangeError;
+    FieldError maxError;
+    ObjectError totalPriceMinError;
+
+    @Setup
+    public void setUp() {
+        codesResolver = new DefaultMessageCodesResolver();
+
+        ResourceBundleMessageSource bundleMessageSource = new ResourceBundleMessageSource();
+        bundleMessageSource.setBasenames("messages", "errors");
+        bundleMessageSource.setDefaultEncoding("UTF-8");
+        messageSource = bundleMessageSource;
+
+        cachingCodesResolver = new CachingMessageCodesResolver(codesResolver);
+
+        PreResolvedMessageSource preResolved = new PreResolvedMessageSource();
+        preResolved.setBasenames("messages", "errors");
+        preResolved.setDefaultEncoding("UTF-8");
+        preResolved.preResolve(List.of(Locale.KOREA));
+        preResolvedMessageSource = preResolved;
+
+        requiredError = new FieldError("item", "itemName", null, false,
+                codesResolver.resolveMessageCodes("required", "item", "itemName", String.class), null, null);
+        rangeError = new FieldError("item", "price", 10, false,
+                codesResolver.resolveMessageCodes("range", "item", "price", Integer.class), new Object[]{1000, 1000000}, null);
+        //  max.itemSaveForm.quantity 는 errors.properties 에 없어서 Level3 (max.java.lang.Integer) 까지 내려간다.
+        maxError = new FieldError("itemSaveForm", "quantity", 10000, false,
+                codesResolver.resolveMessageCodes("max", "itemSaveForm", "quantity", Integer.class), new Object[]{9999}, null);
+        totalPriceMinError = new ObjectError("item",
+                codesResolver.resolveMessageCodes("totalPriceMin", "item"), new Object[]{10000, 100}, null);
+    }
+
+    @Benchmark
+    public String[] resolveFieldCodes() {
+        return codesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+    }
+
+    @Benchmark
+    public String[] resolveObjectCodes() {
+        return codesResolver.resolveMessageCodes("totalPriceMin", "item");
+    }
+
+    @Benchmark
+    public String[] resolveFieldCodesCached() {
+        return cachingCodesResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+    }
+
+    @Benchmark
+    public String[] resolveObjectCodesCached() {
+        return cachingCodesResolver.resolveMessageCodes("totalPriceMin", "item");
+    }
+
+    @Benchmark
+    public String requiredMessage() {
+        return messageSource.getMessage(requiredError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String rangeMessage() {
+        return messageSource.getMessage(rangeError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String maxMessage() {
+        return messageSource.getMessage(maxError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String totalPriceMinMessage() {
+        return messageSource.getMessage(totalPriceMinError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String requiredMessagePreResolved() {
+        return preResolvedMessageSource.getMessage(requiredError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String maxMessagePreResolved() {
+        return preResolvedMessageSource.getMessage(maxError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String totalPriceMinMessagePreResolved() {
+        return preResolvedMessageSource.getMessage(totalPriceMinError, Locale.KOREA);
+    }
+}
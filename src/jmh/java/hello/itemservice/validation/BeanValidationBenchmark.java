@@ -0,0 +1,111 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemEditForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @Validated 한 번에 드는 Bean Validation 비용 - Hibernate Validator 와 CompiledValidator 비교
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BeanValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    LocalValidatorFactoryBean beanValidator;
+    CompiledValidator compiledValidator;
+
+    ItemSaveForm saveForm;
+    ItemEditForm editForm;
+    Item item;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        compiledValidator = new CompiledValidator(beanValidator,
+                List.of(Item.class, ItemSaveForm.class, ItemEditForm.class));
+
+        boolean valid = "valid".equals(input);
+        saveForm = new ItemSaveForm();
+        saveForm.setItemName(valid ? "itemA" : " ");
+        saveForm.setPrice(valid ? 10000 : 10);
+        saveForm.setQuantity(valid ? 10 : 10000);
+
+        editForm = new ItemEditForm();
+        editForm.setId(valid ? 1L : null);
+        editForm.setItemName(saveForm.getItemName());
+        editForm.setPrice(saveForm.getPrice());
+        editForm.setQuantity(valid ? 10 : null);
+
+        item = new Item(saveForm.getItemName(), saveForm.getPrice(), saveForm.getQuantity());
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+    }
+
+    @Benchmark
+    public BindingResult hibernateSaveForm() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        beanValidator.validate(saveForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult compiledSaveForm() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm, "item");
+        compiledValidator.validate(saveForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult hibernateEditForm() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(editForm, "item");
+        beanValidator.validate(editForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult compiledEditForm() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(editForm, "item");
+        compiledValidator.validate(editForm, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult hibernateItemSaveCheck() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        beanValidator.validate(item, bindingResult, SaveCheck.class);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult hibernateItemUpdateCheck() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        beanValidator.validate(item, bindingResult, UpdateCheck.class);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult compiledItemSaveCheck() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        compiledValidator.validate(item, bindingResult, SaveCheck.class);
+        return bindingResult;
+    }
+}
@@ -0,0 +1,57 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 설정으로 정의한 복합 룰(CrossFieldRules)과 컨트롤러에 직접 작성했던 totalPriceMin 검사의 비용 비교
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CrossFieldRuleBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    CrossFieldRules crossFieldRules;
+    ItemSaveForm form;
+
+    @Setup
+    public void setUp() {
+        crossFieldRules = new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                List.of(ItemSaveForm.class));
+        form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(1000);
+        form.setQuantity("valid".equals(input) ? 10 : 5);
+    }
+
+    @Benchmark
+    public BindingResult handWritten() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        if (form.getPrice() != null && form.getQuantity() != null) {
+            int resultPrice = form.getPrice() * form.getQuantity();
+            if (resultPrice < 10000) {
+                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+            }
+        }
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult rules() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        crossFieldRules.validate(form, bindingResult);
+        return bindingResult;
+    }
+}
@@ -0,0 +1,52 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemValidator.validate 한 번의 비용
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    String input;
+
+    LocalValidatorFactoryBean beanValidator;
+    ItemValidator itemValidator;
+    Item item;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        itemValidator = new ItemValidator(new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                List.of(Item.class)), new CompiledValidator(beanValidator, List.of()));
+        item = "valid".equals(input) ? new Item("itemA", 10000, 10) : new Item(" ", 10, 10001);
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+    }
+
+    @Benchmark
+    public BindingResult validate() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        return bindingResult;
+    }
+}
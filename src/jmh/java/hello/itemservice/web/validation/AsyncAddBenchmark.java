@@ -0,0 +1,69 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.ItemServiceApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내장 서버에 동시에 등록 요청을 보낼 때의 지연 시간 분포(p50/p99/p999) - 요청 스레드에서 검증/저장(sync, /bulk 에 한 건)
+ * vs 검증 전용 스레드에서 검증/저장(async, /async/add).
+ * 요청 스레드를 적게(16) 두고 동시 요청(@Threads)을 그보다 많이 보내서, 요청 스레드가 모자랄 때 어떻게 되는지 본다.
+ * 동시 요청 수는 JMH -t 옵션으로 바꾼다. 동시 사용자를 늘려 가며 최대 동시 사용자 수를 비교하는 것은 AsyncAddLoadTest 다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(64)
+@BenchmarkMode(Mode.SampleTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsyncAddBenchmark {
+
+    private static final String FORM = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}";
+
+    @Param({"sync", "async"})
+    String mode;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = SpringApplication.run(ItemServiceApplication.class,
+                "--server.port=0", "--server.tomcat.threads.max=16", "--item.repository.type=memory",
+                "--logging.level.root=warn", "--message.pre-resolve.enabled=false");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        boolean async = "async".equals(mode);
+        request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/validation/api/items/" + (async ? "async/add" : "bulk")))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(async ? FORM : "[" + FORM + "]"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int add() throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
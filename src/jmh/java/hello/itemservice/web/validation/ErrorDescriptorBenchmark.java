@@ -0,0 +1,94 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.message.PreResolvedMessageSource;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.LazyErrors;
+import hello.itemservice.validation.ValidationRuleProperties;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고정 인자 오류 3개의 실패 경로 비용 - ItemValidator(required, range, max) / 컴파일된 Bean Validation(NotBlank, Range, Max)
+ * reject: 오류를 기록하고 오류 수만 본다. apiErrors: 메시지까지 풀어서 API 오류로 바꾼다.
+ * -prof gc 의 gc.alloc.rate.norm 으로 요청당 할당량을 본다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorDescriptorBenchmark {
+
+    @Param({"itemValidator", "beanValidation"})
+    String validator;
+
+    LocalValidatorFactoryBean beanValidator;
+    Validator target;
+    Object form;
+    String objectName;
+    ApiErrorConverter errorConverter;
+    MessageCodesResolver codesResolver = new CachingMessageCodesResolver(new DefaultMessageCodesResolver());
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        CompiledValidator compiledValidator = new CompiledValidator(beanValidator, List.of(ItemSaveForm.class));
+        if ("itemValidator".equals(validator)) {
+            target = new ItemValidator(new CrossFieldRules(Map.of("totalPriceMin",
+                    new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                    List.of(Item.class)), compiledValidator);
+            form = new Item(" ", 10, 10001);
+            objectName = "item";
+        } else {
+            target = compiledValidator;
+            ItemSaveForm saveForm = new ItemSaveForm();
+            saveForm.setItemName(" ");
+            saveForm.setPrice(10);
+            saveForm.setQuantity(10000);
+            form = saveForm;
+            objectName = "itemSaveForm";
+        }
+        PreResolvedMessageSource messageSource = new PreResolvedMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.preResolve(List.of(Locale.KOREA));
+        errorConverter = new ApiErrorConverter(messageSource);
+        LocaleContextHolder.setLocale(Locale.KOREA);
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Benchmark
+    public int reject() {
+        return validate().getErrorCount();
+    }
+
+    @Benchmark
+    public List<ApiError> apiErrors() {
+        return errorConverter.convert(validate(), Locale.KOREA);
+    }
+
+    private LazyErrors validate() {
+        LazyErrors errors = new LazyErrors(form, objectName, codesResolver);
+        target.validate(form, errors);
+        return errors;
+    }
+}
@@ -0,0 +1,66 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.message.PreResolvedMessageSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 검증 오류 응답 직렬화 비용 - ObjectError 그대로 vs ApiError
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorSerializationBenchmark {
+
+    ObjectMapper objectMapper;
+    ApiErrorConverter errorConverter;
+    List<ObjectError> objectErrors;
+    List<ApiError> apiErrors;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        //  애플리케이션과 같이 메시지를 미리 풀어둔 MessageSource
+        PreResolvedMessageSource messageSource = new PreResolvedMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.preResolve(List.of(Locale.KOREA));
+        errorConverter = new ApiErrorConverter(messageSource);
+
+        //  상품명, 가격, 수량, 복합 룰이 모두 실패한 경우
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item(null, 10, 10000), "item");
+        bindingResult.rejectValue("itemName", "required");
+        bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        bindingResult.rejectValue("quantity", "max", new Object[]{9999}, null);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 100000}, null);
+        objectErrors = bindingResult.getAllErrors();
+        apiErrors = errorConverter.convert(objectErrors, Locale.KOREA);
+    }
+
+    @Benchmark
+    public byte[] objectErrors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(objectErrors);
+    }
+
+    @Benchmark
+    public byte[] apiErrors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(apiErrors);
+    }
+
+    //  메시지 조회까지 포함한 응답 전체 비용
+    @Benchmark
+    public byte[] convertAndApiErrors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorConverter.convert(objectErrors, Locale.KOREA));
+    }
+}
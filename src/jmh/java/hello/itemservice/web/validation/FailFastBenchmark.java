@@ -0,0 +1,74 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.message.PreResolvedMessageSource;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.ValidationRuleProperties;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류가 많은 요청(10건 중 9건이 여러 제약조건을 위반)을 검증하고 API 오류로 바꾸는 비용 - 전체 검증 vs failFast
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FailFastBenchmark {
+
+    @Param({"false", "true"})
+    boolean failFast;
+
+    LocalValidatorFactoryBean beanValidator;
+    ItemImporter itemImporter;
+    ApiErrorConverter errorConverter;
+    ItemSaveForm[] forms = new ItemSaveForm[10];
+    int next;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        PreResolvedMessageSource messageSource = new PreResolvedMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.preResolve(List.of(Locale.KOREA));
+        errorConverter = new ApiErrorConverter(messageSource);
+        CrossFieldRules crossFieldRules = new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                List.of(ItemSaveForm.class));
+        itemImporter = new ItemImporter(new MemoryItemRepository(),
+                new CompiledValidator(beanValidator, List.of(ItemSaveForm.class)),
+                crossFieldRules, new ObjectMapper(), errorConverter, ValidationResultCache.disabled());
+
+        for (int i = 0; i < forms.length; i++) {
+            ItemSaveForm form = new ItemSaveForm();
+            form.setItemName(i == 0 ? "itemA" : " ");
+            form.setPrice(i == 0 ? 10000 : 10);
+            form.setQuantity(i == 0 ? 10 : 100000);
+            forms[i] = form;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+    }
+
+    @Benchmark
+    public List<ApiError> validate() {
+        ItemSaveForm form = forms[next++ % forms.length];
+        BindingResult bindingResult = itemImporter.validate(form, failFast);
+        return errorConverter.convert(bindingResult.getAllErrors(), Locale.KOREA);
+    }
+}
@@ -0,0 +1,90 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.message.PreResolvedMessageSource;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.LazyErrors;
+import hello.itemservice.validation.ValidationRuleProperties;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류 3개(NotBlank, Range, totalPriceMin)가 나는 상품의 reject 경로 비용 - BeanPropertyBindingResult vs LazyErrors
+ * count: 오류 수만 본다. apiErrors: API 오류(메시지 포함)로 바꾼다.
+ * -prof gc 의 gc.alloc.rate.norm 으로 요청당 할당량을 비교한다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LazyErrorsBenchmark {
+
+    @Param({"bindingResult", "lazy"})
+    String errors;
+
+    LocalValidatorFactoryBean beanValidator;
+    CompiledValidator validator;
+    CrossFieldRules crossFieldRules;
+    ApiErrorConverter errorConverter;
+    MessageCodesResolver codesResolver = new CachingMessageCodesResolver(new DefaultMessageCodesResolver());
+    ItemSaveForm form = new ItemSaveForm();
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        validator = new CompiledValidator(beanValidator, List.of(ItemSaveForm.class));
+        crossFieldRules = new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                List.of(ItemSaveForm.class));
+        PreResolvedMessageSource messageSource = new PreResolvedMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.preResolve(List.of(Locale.KOREA));
+        errorConverter = new ApiErrorConverter(messageSource);
+
+        form.setItemName(" ");
+        form.setPrice(10);
+        form.setQuantity(10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+    }
+
+    @Benchmark
+    public int count() {
+        return validate().getErrorCount();
+    }
+
+    @Benchmark
+    public List<ApiError> apiErrors() {
+        Errors result = validate();
+        if (result instanceof LazyErrors) {
+            return errorConverter.convert((LazyErrors) result, Locale.KOREA);
+        }
+        return errorConverter.convert(result.getAllErrors(), Locale.KOREA);
+    }
+
+    private Errors validate() {
+        Errors result = "lazy".equals(errors)
+                ? new LazyErrors(form, "itemSaveForm", codesResolver)
+                : new BeanPropertyBindingResult(form, "itemSaveForm");
+        validator.validate(form, result);
+        crossFieldRules.validate(form, result);
+        return result;
+    }
+}
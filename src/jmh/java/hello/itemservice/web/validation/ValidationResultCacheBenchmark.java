@@ -0,0 +1,126 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.message.PreResolvedMessageSource;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.ValidationRuleProperties;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파트너가 같은 상품을 반복해서 보내는 경우(Zipf 분포 - 소수의 상품이 대부분을 차지) 검증 결과 캐시 효과.
+ * 서로 다른 상품 100,000 개 중 30% 는 검증에 실패한다. maxEntries=0 은 캐시 없이 매번 검증한다.
+ * 적중률은 캐시 크기와 분포 기울기(skew)에 따라 달라지므로, 측정 구간마다 item.validation.cache 카운터(hit/miss)를 함께 출력한다.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidationResultCacheBenchmark {
+
+    private static final int DISTINCT = 100_000;
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"0", "1000", "10000"})
+    int maxEntries;
+
+    @Param({"1.1"})
+    double skew;
+
+    LocalValidatorFactoryBean beanValidator;
+    ValidationResultCache resultCache;
+    MeterRegistry registry;
+    ItemImporter itemImporter;
+    ItemSaveForm[] forms = new ItemSaveForm[DISTINCT];
+    int[] samples = new int[SAMPLES];
+    int next;
+    double hitsBefore;
+    double missesBefore;
+
+    @Setup
+    public void setUp() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        PreResolvedMessageSource messageSource = new PreResolvedMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.preResolve(List.of(Locale.KOREA));
+        CrossFieldRules crossFieldRules = new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                List.of(ItemSaveForm.class));
+        resultCache = new ValidationResultCache(maxEntries);
+        registry = new SimpleMeterRegistry();
+        resultCache.bindTo(registry);
+        itemImporter = new ItemImporter(new MemoryItemRepository(),
+                new CompiledValidator(beanValidator, List.of(ItemSaveForm.class)),
+                crossFieldRules, new ObjectMapper(), new ApiErrorConverter(messageSource), resultCache);
+
+        Random random = new Random(42);
+        for (int i = 0; i < DISTINCT; i++) {
+            ItemSaveForm form = new ItemSaveForm();
+            boolean invalid = random.nextInt(10) < 3;
+            form.setItemName("item" + i);
+            form.setPrice(invalid ? 10 : 10000 + i);
+            form.setQuantity(invalid ? 100000 : 10);
+            forms[i] = form;
+        }
+
+        //  순위 r 의 확률 ~ 1 / r^skew
+        double[] cumulative = new double[DISTINCT];
+        double sum = 0;
+        for (int rank = 0; rank < DISTINCT; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = sum;
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            double target = random.nextDouble() * sum;
+            int index = Arrays.binarySearch(cumulative, target);
+            samples[i] = index >= 0 ? index : Math.min(-index - 1, DISTINCT - 1);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        hitsBefore = count("hit");
+        missesBefore = count("miss");
+    }
+
+    //  이번 구간의 hit/miss 만 센다. (워밍업 구간의 캐시 채우기는 빠진다)
+    @TearDown(Level.Iteration)
+    public void reportIteration() {
+        double hits = count("hit") - hitsBefore;
+        double misses = count("miss") - missesBefore;
+        if (hits + misses > 0) {
+            System.out.printf("%nitem.validation.cache hit=%.0f miss=%.0f 적중률 %.1f%% (size=%.0f)%n",
+                    hits, misses, 100.0 * hits / (hits + misses), registry.get("item.validation.cache.size").gauge().value());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.destroy();
+    }
+
+    private double count(String result) {
+        return registry.get("item.validation.cache").tag("result", result).functionCounter().count();
+    }
+
+    @Benchmark
+    public List<ApiError> validate() {
+        ItemSaveForm form = forms[samples[next++ & (SAMPLES - 1)]];
+        return itemImporter.validate(form, false, Locale.KOREA);
+    }
+}
@@ -0,0 +1,102 @@
+package hello.itemservice.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 요청 스레드에서 검증/저장(sync, /add)과 검증 전용 스레드에서 검증/저장(async, /async/add)의
+ * 동시 사용자 수별 p99 와 최대 동시 사용자 수를 비교한다.
+ * 요청 스레드를 적게(16) 두고 동시 사용자를 16 부터 두 배씩 늘린다. 오류가 없고 p99 가 loadTest.asyncMaxP99Ms(기본 200ms)
+ * 이하인 가장 큰 동시 사용자 수를 그 방식의 최대 동시 사용자 수로 본다.
+ * 결과는 콘솔과 build/reports/loadTest/async-add.txt 에 남는다.
+ *
+ * 설정: loadTest.asyncUsers(늘릴 최대 동시 사용자, 256), loadTest.warmup(초, 3), loadTest.duration(초, 10)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "item.repository.type=memory",
+        "server.tomcat.threads.max=16",
+        "view.warmup.enabled=false",
+        "logging.level.hello.itemservice=warn"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AsyncAddLoadTest {
+
+    private static final String FORM = "{\"itemName\":\"load-%d\",\"price\":10000,\"quantity\":10}";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    int port;
+
+    private final List<LoadResult> results = new ArrayList<>();
+    private final List<String> summary = new ArrayList<>();
+
+    @Test
+    void compareMaxConcurrency() throws InterruptedException {
+        int maxUsers = Integer.getInteger("loadTest.asyncUsers", 256);
+        double maxP99Ms = Double.parseDouble(System.getProperty("loadTest.asyncMaxP99Ms", "200"));
+        int sync = maxConcurrency("sync", "/validation/api/items/add", maxUsers, maxP99Ms);
+        int async = maxConcurrency("async", "/validation/api/items/async/add", maxUsers, maxP99Ms);
+
+        assertThat(sync).as("sync 최대 동시 사용자").isPositive();
+        assertThat(async).as("async 최대 동시 사용자").isPositive();
+    }
+
+    /**
+     * 동시 사용자를 두 배씩 늘려 가며, 기준을 넘은 첫 단계에서 멈춘다. 첫 단계부터 넘으면 0.
+     */
+    private int maxConcurrency(String mode, String path, int maxUsers, double maxP99Ms) throws InterruptedException {
+        int passed = 0;
+        for (int users = 16; users <= maxUsers; users *= 2) {
+            LoadDriver driver = new LoadDriver(users,
+                    Duration.ofSeconds(Long.getLong("loadTest.warmup", 3)),
+                    Duration.ofSeconds(Long.getLong("loadTest.duration", 10)));
+            LoadResult result = driver.run(new Scenario(mode + " add x" + users, 200, seq -> post(path, seq)));
+            results.add(result);
+            if (result.getErrors() > 0 || result.percentileMillis(99) > maxP99Ms) {
+                break;
+            }
+            passed = users;
+        }
+        summary.add(String.format(Locale.ROOT, "%s 최대 동시 사용자 = %d (p99 <= %.0fms, 오류 없음)", mode, passed, maxP99Ms));
+        return passed;
+    }
+
+    @AfterAll
+    void report() throws IOException {
+        StringBuilder report = new StringBuilder(LoadResult.HEADER).append(System.lineSeparator());
+        for (LoadResult result : results) {
+            report.append(result.toLine()).append(System.lineSeparator());
+        }
+        for (String line : summary) {
+            report.append(line).append(System.lineSeparator());
+        }
+        System.out.println(report);
+        Path dir = Paths.get(System.getProperty("loadTest.reportDir", "build/reports/loadTest"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("async-add.txt"), report);
+    }
+
+    private HttpRequest post(String path, long seq) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(Locale.ROOT, FORM, seq)))
+                .build();
+    }
+}
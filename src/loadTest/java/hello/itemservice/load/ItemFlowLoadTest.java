@@ -0,0 +1,165 @@
+package hello.itemservice.load;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * v1~v4 화면 흐름(목록, 상세, 등록 성공/실패, 수정)과 JSON API 에 부하를 주고 처리량과 p50/p99/p999 응답 시간을 기록한다.
+ * ./gradlew loadTest 로 실행하고, 결과는 콘솔과 build/reports/loadTest/summary.txt 에 남는다.
+ *
+ * 설정(-P 또는 -D): loadTest.users(동시 사용자, 8), loadTest.warmup(초, 3), loadTest.duration(초, 10),
+ * loadTest.maxP99Ms(0 보다 크면 시나리오 p99 가 넘을 때 실패 - 회귀 검출), loadTest.reportDir
+ * 기대한 상태 코드가 아닌 응답이 하나라도 있으면 실패한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "item.repository.type=memory",
+        "view.warmup.enabled=false",
+        "logging.level.hello.itemservice=warn"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemFlowLoadTest {
+
+    private static final String FORM = "application/x-www-form-urlencoded";
+    private static final String JSON = "application/json";
+    //  응답이 없는 요청은 오류로 센다. (가상 사용자가 멈춰서 측정이 끝나지 않는 일이 없도록)
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    private final List<LoadResult> results = new ArrayList<>();
+    LoadDriver driver;
+    double maxP99Ms;
+    long itemId;
+
+    @BeforeAll
+    void setUp() {
+        driver = new LoadDriver(Integer.getInteger("loadTest.users", 8),
+                Duration.ofSeconds(Long.getLong("loadTest.warmup", 3)),
+                Duration.ofSeconds(Long.getLong("loadTest.duration", 10)));
+        maxP99Ms = Double.parseDouble(System.getProperty("loadTest.maxP99Ms", "0"));
+        //  상세/수정 대상 - 수정 시나리오는 version 없이 보내므로 동시에 수정해도 충돌하지 않는다.
+        itemId = itemRepository.save(new Item("loadItem", 10000, 10)).getId();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"v1", "v2", "v3", "v4"})
+    void formFlows(String version) throws InterruptedException {
+        String base = "/validation/" + version + "/items";
+        run(new Scenario(version + " list", 200, seq -> get(base)));
+        run(new Scenario(version + " detail", 200, seq -> get(base + "/" + itemId)));
+        run(new Scenario(version + " add valid", 302,
+                seq -> post(base + "/add", FORM, form("itemName", "load-" + seq, "price", "10000", "quantity", "10"))));
+        //  v3 는 Item 의 검증 그룹(SaveCheck) 애너테이션이 주석 처리되어 있어서 검증 없이 저장하고 redirect 한다.
+        int invalidStatus = "v3".equals(version) ? 302 : 200;
+        run(new Scenario(version + " add invalid", invalidStatus,
+                seq -> post(base + "/add", FORM, form("itemName", "", "price", "10", "quantity", "100000"))));
+        run(new Scenario(version + " edit", 302,
+                seq -> post(base + "/" + itemId + "/edit", FORM,
+                        form("id", String.valueOf(itemId), "itemName", "loadItem", "price", "10000", "quantity", String.valueOf(10 + seq % 100)))));
+    }
+
+    @Test
+    void apiFlows() throws InterruptedException {
+        String base = "/validation/api/items";
+        run(new Scenario("api search", 200, seq -> get(base + "/search?itemName=load&size=20")));
+        run(new Scenario("api add valid", 200,
+                seq -> post(base + "/add", JSON, "{\"itemName\":\"load-" + seq + "\",\"price\":10000,\"quantity\":10}")));
+        run(new Scenario("api add invalid", 200,
+                seq -> post(base + "/add", JSON, "{\"itemName\":\"\",\"price\":10,\"quantity\":100000}")));
+        run(new Scenario("api async add", 200,
+                seq -> post(base + "/async/add", JSON, "{\"itemName\":\"load-" + seq + "\",\"price\":10000,\"quantity\":10}")));
+        run(new Scenario("api bulk(10)", 200, seq -> post(base + "/bulk", JSON, bulk(seq, 10))));
+    }
+
+    @AfterAll
+    void report() throws IOException {
+        StringBuilder report = new StringBuilder(LoadResult.HEADER).append(System.lineSeparator());
+        for (LoadResult result : results) {
+            report.append(result.toLine()).append(System.lineSeparator());
+        }
+        System.out.println(report);
+        Path dir = Paths.get(System.getProperty("loadTest.reportDir", "build/reports/loadTest"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("summary.txt"), report);
+    }
+
+    private void run(Scenario scenario) throws InterruptedException {
+        LoadResult result = driver.run(scenario);
+        results.add(result);
+
+        assertThat(result.getRequests()).as(scenario + " 요청 수").isPositive();
+        assertThat(result.getErrors()).as(scenario + " 기대한 상태(" + scenario.getExpectedStatus() + ")가 아닌 응답").isZero();
+        if (maxP99Ms > 0) {
+            assertThat(result.percentileMillis(99)).as(scenario + " p99(ms)").isLessThanOrEqualTo(maxP99Ms);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String form(String... pairs) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(pairs[i]).append('=').append(URLEncoder.encode(pairs[i + 1], StandardCharsets.UTF_8));
+        }
+        return body.toString();
+    }
+
+    //  10건 중 3건은 가격/수량 범위를 벗어난다.
+    private static String bulk(long seq, int size) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            boolean invalid = i % 10 < 3;
+            body.append("{\"itemName\":\"load-").append(seq).append('-').append(i)
+                    .append("\",\"price\":").append(invalid ? 10 : 10000)
+                    .append(",\"quantity\":").append(invalid ? 100000 : 10).append('}');
+        }
+        return body.append(']').toString();
+    }
+}
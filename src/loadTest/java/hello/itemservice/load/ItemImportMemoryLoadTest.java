@@ -0,0 +1,150 @@
+package hello.itemservice.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ColumnarItemRepository;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.ValidationRuleProperties;
+import hello.itemservice.web.validation.ApiErrorConverter;
+import hello.itemservice.web.validation.ItemImporter;
+import hello.itemservice.web.validation.ValidationResultCache;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 100만 건을 요청 본문 전체를 만들지 않고 흘려보낸다. 요청/응답을 메모리에 쌓지 않으므로
+ * 힙 증가량은 저장된 상품(ColumnarItemRepository - 상품당 약 13바이트)만큼이어야 한다.
+ * 오래 걸리고 System.gc() 결과에 기대므로 단위 테스트(test)가 아니라 ./gradlew loadTest 로 실행한다.
+ */
+class ItemImportMemoryLoadTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.destroy();
+    }
+
+    @Test
+    void importStreamMillionRecords() throws Exception {
+        //given
+        int records = 1_000_000;
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        ColumnarItemRepository columnarRepository = new ColumnarItemRepository();
+        ItemImporter streamImporter = new ItemImporter(columnarRepository,
+                new CompiledValidator(beanValidator, List.of(ItemSaveForm.class)),
+                new CrossFieldRules(Map.of("totalPriceMin", new ValidationRuleProperties.Rule(
+                        "price * quantity >= 10000", "10000", "price * quantity")), List.of(ItemSaveForm.class)),
+                new ObjectMapper(), new ApiErrorConverter(messageSource), ValidationResultCache.disabled());
+        LineCountingOutputStream out = new LineCountingOutputStream();
+        long usedBefore = usedHeap();
+
+        //when
+        long count = streamImporter.importStream(new GeneratedRecords(records), out);
+
+        //then
+        long usedAfter = usedHeap();
+        assertThat(count).isEqualTo(records);
+        assertThat(out.lines).isEqualTo(records);
+        //  10의 배수 index 는 이름이 없어서 저장되지 않는다.
+        assertThat(columnarRepository.findPage(records - 1, 10).getItems()).isEmpty();
+        assertThat(columnarRepository.stream().count()).isEqualTo(records - records / 10);
+        assertThat(usedAfter - usedBefore).isLessThan(64L * 1024 * 1024);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * 읽을 때마다 다음 NDJSON 줄을 만들어 내는 요청 본문.
+     */
+    static class GeneratedRecords extends InputStream {
+
+        private final int records;
+        private int index = 0;
+        private byte[] line = new byte[0];
+        private int position = 0;
+
+        GeneratedRecords(int records) {
+            this.records = records;
+        }
+
+        @Override
+        public int read() {
+            if (!nextLine()) {
+                return -1;
+            }
+            return line[position++];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!nextLine()) {
+                return -1;
+            }
+            int n = Math.min(len, line.length - position);
+            System.arraycopy(line, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean nextLine() {
+            if (position < line.length) {
+                return true;
+            }
+            if (index == records) {
+                return false;
+            }
+            String itemName = index % 10 == 0 ? "" : "item" + (index % 100);
+            line = ("{\"itemName\":\"" + itemName + "\",\"price\":1000,\"quantity\":10}\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            index++;
+            return true;
+        }
+    }
+
+    static class LineCountingOutputStream extends OutputStream {
+
+        long lines = 0;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package hello.itemservice.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 정해진 수의 가상 사용자(스레드)가 시나리오 요청을 쉬지 않고 보낸다. (closed model - 응답을 받아야 다음 요청을 보낸다)
+ * 워밍업 동안의 요청은 버리고, 측정 구간의 응답 시간만 스레드별 HdrHistogram 에 기록한 뒤 합친다.
+ *
+ * closed model 이라서 서버가 멈추면 요청도 덜 보내므로(coordinated omission) 꼬리 지연이 실제보다 작게 나올 수 있다.
+ * 회귀 비교용으로 같은 설정끼리 비교한다.
+ */
+class LoadDriver {
+
+    //  1 마이크로초 ~ 60 초, 유효 숫자 3자리
+    private static final long HIGHEST_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final HttpClient client;
+    private final int users;
+    private final Duration warmup;
+    private final Duration duration;
+    private final AtomicLong sequence = new AtomicLong();
+
+    LoadDriver(int users, Duration warmup, Duration duration) {
+        this.users = users;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    LoadResult run(Scenario scenario) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        List<Future<Histogram>> histograms = new ArrayList<>();
+        AtomicLong errors = new AtomicLong();
+        for (int i = 0; i < users; i++) {
+            histograms.add(executor.submit(() -> loop(scenario, measureFrom, end, errors)));
+        }
+        executor.shutdown();
+
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        try {
+            for (Future<Histogram> histogram : histograms) {
+                total.add(histogram.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(scenario + " 실행 실패", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new LoadResult(scenario.getName(), total, errors.get(), duration.toNanos() / 1e9);
+    }
+
+    private Histogram loop(Scenario scenario, long measureFrom, long end, AtomicLong errors) throws InterruptedException {
+        Histogram histogram = new Histogram(HIGHEST_MICROS, 3);
+        long now = System.nanoTime();
+        while (now < end) {
+            long requestStart = now;
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(scenario.request(sequence.incrementAndGet()),
+                        HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() == scenario.getExpectedStatus();
+            } catch (IOException e) {
+                ok = false;
+            }
+            now = System.nanoTime();
+            if (requestStart >= measureFrom && now <= end) {
+                histogram.recordValue(Math.min(HIGHEST_MICROS, Math.max(1, (now - requestStart) / 1000)));
+                if (!ok) {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+        return histogram;
+    }
+}
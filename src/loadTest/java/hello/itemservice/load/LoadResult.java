@@ -0,0 +1,56 @@
+package hello.itemservice.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+
+/**
+ * 시나리오 하나의 측정 결과 - 처리량(요청/초)과 응답 시간 분포(마이크로초).
+ */
+class LoadResult {
+
+    static final String HEADER = String.format(Locale.ROOT, "%-28s %9s %6s %10s %9s %9s %9s %9s",
+            "scenario", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+
+    private final String name;
+    private final Histogram histogram;
+    private final long errors;
+    private final double seconds;
+
+    LoadResult(String name, Histogram histogram, long errors, double seconds) {
+        this.name = name;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.seconds = seconds;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getRequests() {
+        return histogram.getTotalCount();
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    double getThroughput() {
+        return histogram.getTotalCount() / seconds;
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    String toLine() {
+        return String.format(Locale.ROOT, "%-28s %9d %6d %10.1f %9.2f %9.2f %9.2f %9.2f",
+                name, getRequests(), errors, getThroughput(),
+                percentileMillis(50), percentileMillis(99), percentileMillis(99.9), maxMillis());
+    }
+}
@@ -0,0 +1,38 @@
+package hello.itemservice.load;
+
+import java.net.http.HttpRequest;
+import java.util.function.LongFunction;
+
+/**
+ * 부하 시나리오 하나 - 요청 번호(sequence)로 요청을 만들고, 기대한 상태 코드가 아니면 오류로 센다.
+ * 등록처럼 매번 다른 내용을 보내야 하는 시나리오는 sequence 로 상품명을 바꾼다.
+ */
+class Scenario {
+
+    private final String name;
+    private final int expectedStatus;
+    private final LongFunction<HttpRequest> requests;
+
+    Scenario(String name, int expectedStatus, LongFunction<HttpRequest> requests) {
+        this.name = name;
+        this.expectedStatus = expectedStatus;
+        this.requests = requests;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    HttpRequest request(long sequence) {
+        return requests.apply(sequence);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
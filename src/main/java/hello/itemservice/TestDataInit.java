@@ -14,10 +14,13 @@ public class TestDataInit {
     private final ItemRepository itemRepository;
 
     /**
-     * 테스트용 데이터 추가
+     * 테스트용 데이터 추가 - 재시작 후 복구된 상품이 있으면(item.repository.type=file) 추가하지 않는다.
      */
     @PostConstruct
     public void init() {
+        if (itemRepository.stream().findAny().isPresent()) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
@@ -0,0 +1,199 @@
+package hello.itemservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.validation.ClientConstraintExporter;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.ConstraintConfigWatcher;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.ValidationRuleProperties;
+import hello.itemservice.web.idempotency.IdempotencyCache;
+import hello.itemservice.web.idempotency.IdempotencyFilter;
+import hello.itemservice.web.metrics.MeteredMessageCodesResolver;
+import hello.itemservice.web.metrics.RenderTimingInterceptor;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.validation.ValidationResultCache;
+import hello.itemservice.web.validation.form.ItemEditForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Configuration
+@EnableConfigurationProperties(ValidationRuleProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LocalValidatorFactoryBean beanValidator;
+    private final ValidationMetrics metrics;
+
+    public WebConfig(LocalValidatorFactoryBean beanValidator, ValidationMetrics metrics) {
+        this.beanValidator = beanValidator;
+        this.metrics = metrics;
+    }
+
+    @Bean
+    public CompiledValidator compiledValidator() {
+        CompiledValidator validator = new CompiledValidator(beanValidator,
+                List.of(Item.class, ItemSaveForm.class, ItemEditForm.class));
+        validator.precompile(Item.class, SaveCheck.class);
+        validator.precompile(Item.class, UpdateCheck.class);
+        return validator;
+    }
+
+    /**
+     * 복합 룰은 시작할 때 파싱/컴파일한다. 식이 잘못되었으면 여기서 실패한다.
+     */
+    @Bean
+    public CrossFieldRules crossFieldRules(ValidationRuleProperties properties) {
+        return new CrossFieldRules(properties.getRules(),
+                List.of(Item.class, ItemSaveForm.class, ItemEditForm.class));
+    }
+
+    /**
+     * 비동기 등록 API 의 검증/저장 전용 스레드. 검증은 CPU 작업이라 기본 스레드 수는 코어 수이고,
+     * 대기열이 가득 차면 RejectedExecutionException 으로 거절한다. (503)
+     * 이름(validationExecutor)으로 골라서 주입한다. 다른 비동기 작업은 applicationTaskExecutor 를 쓴다.
+     */
+    @Bean
+    @Qualifier("validationExecutor")
+    public ThreadPoolTaskExecutor validationExecutor(@Value("${validation.async.threads:0}") int threads,
+                                                     @Value("${validation.async.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        executor.setMaxPoolSize(executor.getCorePoolSize());
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("validation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Executor 빈이 있으면 스프링 부트는 applicationTaskExecutor 를 만들지 않으므로(@ConditionalOnMissingBean)
+     * 같은 설정(spring.task.execution.*)으로 다시 등록한다. MVC 비동기 요청(Callable 등)과 @Async 가 사용한다.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * API 로 들어온 같은 내용의 상품은 검증 결과를 재사용한다. (ItemImporter, 0 이면 사용하지 않음)
+     * 적중률 메트릭(item.validation.cache)은 MeterBinder 로 등록된다.
+     * MeterRegistry 를 만들 때 MeterBinder 를 찾으므로, MeterRegistry 가 필요한 WebConfig 없이 만들 수 있도록 static 이다.
+     */
+    @Bean
+    public static ValidationResultCache validationResultCache(
+            @Value("${validation.result-cache.max-entries:0}") int maxEntries) {
+        return new ValidationResultCache(maxEntries);
+    }
+
+    /**
+     * 요청 Locale 을 메시지 파일이 있는 Locale 로 맞춘다. (ko-KR -> ko, 없는 언어 -> 기본 Locale)
+     * 메시지/검증 규칙 캐시는 Locale 별로 만들므로, 클라이언트가 보낸 Accept-Language 를 그대로 쓰면 캐시가 끝없이 늘어난다.
+     * Accept-Language 가 없는 요청은 기존처럼 서버 기본 Locale 을 사용한다.
+     */
+    @Bean
+    public LocaleResolver localeResolver(@Value("${message.supported-locales:ko,en}") String locales) {
+        List<Locale> supportedLocales = new ArrayList<>();
+        for (String locale : StringUtils.commaDelimitedListToSet(locales)) {
+            supportedLocales.add(StringUtils.parseLocale(locale.trim()));
+        }
+        AcceptHeaderLocaleResolver localeResolver = new AcceptHeaderLocaleResolver();
+        localeResolver.setSupportedLocales(supportedLocales);
+        localeResolver.setDefaultLocale(Locale.getDefault());
+        return localeResolver;
+    }
+
+    /**
+     * 서버 제약조건과 복합 룰로 브라우저 검증 규칙을 만든다.
+     */
+    @Bean
+    public ClientConstraintExporter clientConstraintExporter(CrossFieldRules crossFieldRules,
+                                                             MessageSource messageSource, ObjectMapper objectMapper) {
+        return new ClientConstraintExporter(compiledValidator(), crossFieldRules, messageSource, objectMapper);
+    }
+
+    /**
+     * 검증 설정 파일이 바뀌면 재시작 없이 제약조건 값과 복합 룰을 바꾼다.
+     */
+    @Bean
+    @ConditionalOnProperty("validation.constraints.file")
+    public ConstraintConfigWatcher constraintConfigWatcher(@Value("${validation.constraints.file}") String file,
+                                                           CrossFieldRules crossFieldRules,
+                                                           ValidationRuleProperties properties) {
+        return new ConstraintConfigWatcher(Path.of(file), compiledValidator(), crossFieldRules, properties.getRules());
+    }
+
+    /**
+     * 상품 등록 폼과 등록 API 의 중복 제출을 처음 응답으로 돌려준다.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            @Value("${idempotency.ttl:10m}") Duration ttl,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(new IdempotencyCache(ttl, maxEntries), waitTimeout,
+                        Math.toIntExact(maxBodySize.toBytes())));
+        registration.addUrlPatterns("/validation/v1/items/add", "/validation/v2/items/add",
+                "/validation/v3/items/add", "/validation/v4/items/add",
+                "/validation/api/items/add", "/validation/api/items/async/add", "/validation/api/items/bulk");
+        return registration;
+    }
+
+    /**
+     * @Validated 에 사용하는 글로벌 검증기
+     */
+    @Override
+    public Validator getValidator() {
+        return compiledValidator();
+    }
+
+    @Bean
+    public MessageCodesResolver messageCodesResolver() {
+        return new MeteredMessageCodesResolver(
+                new CachingMessageCodesResolver(new DefaultMessageCodesResolver()), metrics);
+    }
+
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RenderTimingInterceptor(metrics));
+    }
+}
@@ -0,0 +1,28 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+/**
+ * 저장소 전체의 변경 번호. 상품을 저장/수정하거나 저장소를 비울 때마다 바뀐다.
+ * 변경을 저장소에 반영한 뒤에 올리므로, 어떤 번호를 본 뒤에 조회한 상품에는 그 번호까지의 변경이 모두 보인다.
+ * (목록 화면의 ETag 에 사용한다)
+ */
+@Getter
+public final class CatalogVersion {
+
+    private static final CatalogVersion INITIAL = new CatalogVersion(0L);
+
+    private final long version;
+
+    CatalogVersion(long version) {
+        this.version = version;
+    }
+
+    static CatalogVersion initial() {
+        return INITIAL;
+    }
+
+    CatalogVersion next() {
+        return new CatalogVersion(version + 1);
+    }
+}
@@ -0,0 +1,404 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 상품이 수백만 건 이상일 때를 위한 저장소.
+ * Item 객체 대신 id 순서의 원시 타입 배열(컬럼)에 값을 저장하고, 상품명은 문자열 풀에서 공유한다.
+ * 100만 건 저장 시 측정한 힙 사용량은 상품당 약 13바이트 + version 8바이트 + 상품명 풀이다. (MemoryItemRepository는 약 124바이트)
+ *
+ * 조회 결과는 매번 새로 만든 Item 이므로 수정해도 저장소에는 반영되지 않는다. 수정은 update()로 한다.
+ *
+ * 상품명/가격 검색은 값별로 위치(index)를 정렬해 둔 인덱스를 사용한다. 인덱스도 쓰기 락 안에서 함께 바꾼다.
+ * 위치는 원시 타입 배열에 담으므로 상품당 약 4바이트가 더 든다.
+ */
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "columnar")
+public class ColumnarItemRepository implements ItemRepository {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final byte PRESENT = 1;
+    private static final byte PRICE_NULL = 1 << 1;
+    private static final byte QUANTITY_NULL = 1 << 2;
+    private static final int NAME_NULL = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //  index = id - base - 1
+    private long base = 0L;
+    private long sequence = 0L;
+    private int size = 0;
+    //  쓰기 락 안에서만 바꾼다.
+    private volatile CatalogVersion catalogVersion = CatalogVersion.initial();
+
+    private int[] nameRefs = new int[INITIAL_CAPACITY];
+    private int[] prices = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+
+    //  상품명 풀 - 같은 이름은 한 번만 저장한다.
+    //  이름마다 쓰는 상품 수를 세고, 0이 되면 풀에서 빼서 그 자리를 다음 새 이름에 다시 쓴다.
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private int[] nameCounts = new int[INITIAL_CAPACITY];
+    private int[] freeNameRefs = new int[16];
+    private int freeNameCount = 0;
+
+    //  상품명/가격 인덱스 - 값 순서, 같은 값은 위치(= id) 순서
+    private final NavigableMap<String, IndexBucket> nameIndex = new TreeMap<>();
+    private final NavigableMap<Integer, IndexBucket> priceIndex = new TreeMap<>();
+
+    @Override
+    public Item save(Item item) {
+        lock.writeLock().lock();
+        try {
+            int index = size;
+            ensureCapacity(index + 1);
+            write(index, item);
+            versions[index] = 1L;
+            index(index);
+            size++;
+            item.setId(++sequence);
+            item.setVersion(1L);
+            catalogVersion = catalogVersion.next();
+            return item;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + items.size());
+            for (Item item : items) {
+                write(size, item);
+                versions[size] = 1L;
+                index(size);
+                size++;
+                item.setId(++sequence);
+                item.setVersion(1L);
+            }
+            catalogVersion = catalogVersion.next();
+            return items;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Item findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int index = indexOf(id);
+            return index < 0 ? null : read(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Item> result = new ArrayList<>(size);
+            for (int index = 0; index < size; index++) {
+                result.add(read(index));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ItemPage findPage(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = (int) Math.min(Math.max(afterId - base, 0L), size);
+            int to = (int) Math.min((long) from + limit + 1, size);
+            List<Item> fetched = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                fetched.add(read(index));
+            }
+            return ItemPage.of(fetched, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        long firstId;
+        long lastId;
+        lock.readLock().lock();
+        try {
+            firstId = base + 1;
+            lastId = base + size;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return LongStream.rangeClosed(firstId, lastId)
+                .mapToObj(this::findById)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public List<Item> findByItemNamePrefix(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Item> result = new ArrayList<>(Math.min(limit, 64));
+            for (Map.Entry<String, IndexBucket> entry : nameIndex.tailMap(prefix, true).entrySet()) {
+                if (result.size() == limit || !entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                entry.getValue().readInto(this, result, limit);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> findByPriceRange(int minPrice, int maxPrice, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Item> result = new ArrayList<>(Math.min(limit, 64));
+            if (minPrice > maxPrice) {
+                return result;
+            }
+            for (IndexBucket bucket : priceIndex.subMap(minPrice, true, maxPrice, true).values()) {
+                if (result.size() == limit) {
+                    break;
+                }
+                bucket.readInto(this, result, limit);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(Long itemId, Item updateParam) {
+        lock.writeLock().lock();
+        try {
+            int index = indexOf(itemId);
+            if (index < 0 || (updateParam.getVersion() != null && updateParam.getVersion() != versions[index])) {
+                return false;
+            }
+            int oldNameRef = nameRefs[index];
+            unindex(index);
+            write(index, updateParam);
+            release(oldNameRef);
+            index(index);
+            versions[index]++;
+            catalogVersion = catalogVersion.next();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clearStore() {
+        lock.writeLock().lock();
+        try {
+            base = sequence;
+            size = 0;
+            Arrays.fill(flags, (byte) 0);
+            nameIds.clear();
+            names.clear();
+            freeNameCount = 0;
+            nameIndex.clear();
+            priceIndex.clear();
+            catalogVersion = catalogVersion.next();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public CatalogVersion catalogVersion() {
+        return catalogVersion;
+    }
+
+    private int indexOf(Long id) {
+        if (id == null || id <= base || id - base > size) {
+            return -1;
+        }
+        return (int) (id - base - 1);
+    }
+
+    private Item read(int index) {
+        byte flag = flags[index];
+        int nameRef = nameRefs[index];
+        Item item = new Item(
+                nameRef == NAME_NULL ? null : names.get(nameRef),
+                (flag & PRICE_NULL) != 0 ? null : prices[index],
+                (flag & QUANTITY_NULL) != 0 ? null : quantities[index]);
+        item.setId(base + index + 1);
+        item.setVersion(versions[index]);
+        return item;
+    }
+
+    private void write(int index, Item item) {
+        byte flag = PRESENT;
+        if (item.getPrice() == null) {
+            flag |= PRICE_NULL;
+        } else {
+            prices[index] = item.getPrice();
+        }
+        if (item.getQuantity() == null) {
+            flag |= QUANTITY_NULL;
+        } else {
+            quantities[index] = item.getQuantity();
+        }
+        nameRefs[index] = intern(item.getItemName());
+        flags[index] = flag;
+    }
+
+    private int intern(String itemName) {
+        if (itemName == null) {
+            return NAME_NULL;
+        }
+        Integer nameRef = nameIds.get(itemName);
+        if (nameRef != null) {
+            nameCounts[nameRef]++;
+            return nameRef;
+        }
+        if (freeNameCount > 0) {
+            nameRef = freeNameRefs[--freeNameCount];
+            names.set(nameRef, itemName);
+        } else {
+            nameRef = names.size();
+            names.add(itemName);
+            if (nameRef == nameCounts.length) {
+                nameCounts = Arrays.copyOf(nameCounts, nameRef + (nameRef >> 1));
+            }
+        }
+        nameIds.put(itemName, nameRef);
+        nameCounts[nameRef] = 1;
+        return nameRef;
+    }
+
+    private void release(int nameRef) {
+        if (nameRef == NAME_NULL || --nameCounts[nameRef] > 0) {
+            return;
+        }
+        nameIds.remove(names.set(nameRef, null));
+        if (freeNameCount == freeNameRefs.length) {
+            freeNameRefs = Arrays.copyOf(freeNameRefs, freeNameCount * 2);
+        }
+        freeNameRefs[freeNameCount++] = nameRef;
+    }
+
+    /**
+     * 상품명 풀에 들어 있는 이름 수
+     */
+    int nameCount() {
+        lock.readLock().lock();
+        try {
+            return nameIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(int index) {
+        int nameRef = nameRefs[index];
+        if (nameRef != NAME_NULL) {
+            nameIndex.computeIfAbsent(names.get(nameRef), key -> new IndexBucket()).add(index);
+        }
+        if ((flags[index] & PRICE_NULL) == 0) {
+            priceIndex.computeIfAbsent(prices[index], key -> new IndexBucket()).add(index);
+        }
+    }
+
+    private void unindex(int index) {
+        int nameRef = nameRefs[index];
+        if (nameRef != NAME_NULL) {
+            remove(nameIndex, names.get(nameRef), index);
+        }
+        if ((flags[index] & PRICE_NULL) == 0) {
+            remove(priceIndex, prices[index], index);
+        }
+    }
+
+    private static <K> void remove(Map<K, IndexBucket> index, K value, int position) {
+        IndexBucket bucket = index.get(value);
+        if (bucket != null && bucket.remove(position) && bucket.size == 0) {
+            index.remove(value);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= flags.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, flags.length + (flags.length >> 1));
+        nameRefs = Arrays.copyOf(nameRefs, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+    }
+
+    /**
+     * 한 값(상품명 또는 가격)을 가진 상품의 위치를 오름차순으로 담는다.
+     * 저장은 위치가 늘어나는 순서이므로 보통 끝에 붙고, 수정으로 값이 바뀐 상품만 중간에 끼워 넣는다.
+     */
+    private static final class IndexBucket {
+
+        private int[] positions = new int[2];
+        private int size = 0;
+
+        void add(int position) {
+            int at = size == 0 || positions[size - 1] < position ? size : -Arrays.binarySearch(positions, 0, size, position) - 1;
+            if (at < 0) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size + (size >> 1) + 1);
+            }
+            System.arraycopy(positions, at, positions, at + 1, size - at);
+            positions[at] = position;
+            size++;
+        }
+
+        boolean remove(int position) {
+            int at = Arrays.binarySearch(positions, 0, size, position);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(positions, at + 1, positions, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        void readInto(ColumnarItemRepository repository, List<Item> result, int limit) {
+            for (int i = 0; i < size && result.size() < limit; i++) {
+                result.add(repository.read(positions[i]));
+            }
+        }
+    }
+
+}
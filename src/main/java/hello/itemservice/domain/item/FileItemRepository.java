@@ -0,0 +1,536 @@
+package hello.itemservice.domain.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 재시작해도 상품이 남는 저장소.
+ * 조회는 MemoryItemRepository 와 같이 메모리에서 하고, 저장/수정/삭제는 메모리 매핑한 로그 파일(items.log)에 순서대로 추가한다.
+ *
+ * - 그룹 커밋: 쓰기 요청은 로그에 기록한 뒤 디스크에 반영될 때까지 기다린다. 별도 스레드가 그동안 쌓인 기록을 한 번의 force()로
+ *   반영하고 기다리던 요청을 모두 깨우므로, 요청마다 fsync 하는 것보다 동시 쓰기 처리량이 훨씬 높다.
+ * - 압축: 로그가 가득 차면 전체 상품을 스냅샷(items.snapshot)으로 쓰고 로그를 처음부터 다시 쓴다. 종료할 때도 스냅샷을 만든다.
+ * - 복구: 시작할 때 스냅샷을 읽고 로그를 이어서 재생한다. CRC 가 맞지 않는 레코드(쓰다가 중단된 레코드)에서 재생을 멈춘다.
+ *
+ * 로그 레코드의 CRC 에는 스냅샷 세대(generation)가 포함되므로, 압축 이전 세대의 레코드는 재생되지 않는다.
+ *
+ * 파일 형식: 스냅샷은 SNAPSHOT_MAGIC 다음에 형식 버전(FORMAT_VERSION)을 쓰고, 로그 레코드는 종류(PUT_V2 등)로 형식을 구분한다.
+ * version 이 없던 이전 형식(LEGACY_SNAPSHOT_MAGIC, PUT)은 version 1 로 읽어 들이고, 다음 압축 때 새 형식으로 다시 쓴다.
+ * 모르는 형식의 스냅샷이나 레코드가 있으면 지우거나 건너뛰지 않고 시작을 멈춘다.
+ * 쓰기는 로그 순서를 지키기 위해 하나씩 처리한다. (디스크 반영은 락 밖에서 기다린다)
+ * 쓰기는 로그에 먼저 기록한 뒤 메모리에 반영한다. 로그 공간 확보(압축)가 실패하면 메모리도 바뀌지 않는다.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "file")
+public class FileItemRepository extends MemoryItemRepository {
+
+    static final String LOG_FILE = "items.log";
+    static final String SNAPSHOT_FILE = "items.snapshot";
+
+    //  "ITMV" 다음에 형식 버전 - 형식이 바뀌면 FORMAT_VERSION 을 올린다.
+    private static final int SNAPSHOT_MAGIC = 0x49544D56;
+    private static final int FORMAT_VERSION = 2;
+    //  "ITEM" - 형식 버전도 item version 도 없던 첫 형식
+    private static final int LEGACY_SNAPSHOT_MAGIC = 0x4954454D;
+
+    //  레코드 = [payload 길이(int)][CRC(int)][payload]
+    private static final int HEADER_SIZE = 8;
+    //  version 이 없던 이전 형식 - 읽기만 한다.
+    private static final byte PUT = 1;
+    private static final byte CLEAR = 2;
+    private static final byte PUT_V2 = 3;
+
+    private static final int PRICE_NULL = 1;
+    private static final int QUANTITY_NULL = 1 << 1;
+    private static final int NAME_NULL = -1;
+
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path directory;
+    private final boolean groupCommit;
+    private final FileChannel channel;
+    private final MappedByteBuffer journal;
+
+    private long generation;
+    private final byte[] generationBytes = new byte[Long.BYTES];
+
+    //  지금까지 로그에 쓴 바이트 수와 디스크에 반영된 바이트 수 - 압축해도 줄어들지 않는다.
+    private long appended = 0L;
+    private final Object flushLock = new Object();
+    private long requested = 0L;
+    private long durable = 0L;
+    private RuntimeException flushFailure;
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    /**
+     * @param logSize     로그 파일 크기(바이트). 가득 차면 압축한다.
+     * @param groupCommit false 면 쓰기 요청마다 직접 force() 한다.
+     */
+    public FileItemRepository(@Value("${item.repository.file.dir:data}") String directory,
+                              @Value("${item.repository.file.log-size:67108864}") int logSize,
+                              @Value("${item.repository.file.group-commit:true}") boolean groupCommit) throws IOException {
+        this.directory = Path.of(directory);
+        this.groupCommit = groupCommit;
+        Files.createDirectories(this.directory);
+
+        long start = System.nanoTime();
+        loadSnapshot();
+        channel = FileChannel.open(this.directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        journal = channel.map(FileChannel.MapMode.READ_WRITE, 0, logSize);
+        long records = replay();
+        log.info("상품 저장소 복구 dir={}, generation={}, logRecords={}, lastId={}, elapsed={}ms",
+                this.directory.toAbsolutePath(), generation, records, lastId(), (System.nanoTime() - start) / 1_000_000);
+
+        flusher = new Thread(this::flushLoop, "item-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    //  쓰기는 이 락 안에서만 하므로 다음 id 는 lastId() + 1, 다음 version 은 지금 version + 1 이다.
+    @Override
+    public Item save(Item item) {
+        long position;
+        synchronized (this) {
+            position = appendPut(lastId() + 1, 1L, item);
+            super.save(item);
+        }
+        awaitDurable(position);
+        return item;
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        long position;
+        synchronized (this) {
+            position = appended;
+            int applied = 0;
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
+                //  압축하기 전에 지금까지 기록한 상품을 메모리에 반영해야 스냅샷에 들어간다.
+                if (!fits(putSize(item)) && applied < i) {
+                    super.saveAll(items.subList(applied, i));
+                    applied = i;
+                }
+                position = appendPut(lastId() + 1 + (i - applied), 1L, item);
+            }
+            if (applied < items.size()) {
+                super.saveAll(items.subList(applied, items.size()));
+            }
+        }
+        awaitDurable(position);
+        return items;
+    }
+
+    @Override
+    public boolean update(Long itemId, Item updateParam) {
+        long position;
+        synchronized (this) {
+            Item current = super.findById(itemId);
+            Long expectedVersion = updateParam.getVersion();
+            if (current == null || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                return false;
+            }
+            position = appendPut(itemId, current.getVersion() + 1, updateParam);
+            super.update(itemId, updateParam);
+        }
+        awaitDurable(position);
+        return true;
+    }
+
+    @Override
+    public void clearStore() {
+        long position;
+        synchronized (this) {
+            reserve(1 + Long.BYTES);
+            int start = journal.position();
+            journal.position(start + HEADER_SIZE);
+            journal.put(CLEAR).putLong(lastId());
+            position = seal(start);
+            super.clearStore();
+        }
+        awaitDurable(position);
+    }
+
+    /**
+     * 종료할 때 스냅샷을 만들어 두면 다음 시작 때 재생할 로그가 없다.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            compact();
+            running = false;
+        }
+        synchronized (flushLock) {
+            flushLock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.force();
+        channel.close();
+    }
+
+    /**
+     * id, version 으로 저장될 상품의 레코드를 쓴다. 이름, 가격, 수량은 item 에서 읽는다.
+     */
+    private long appendPut(long id, long version, Item item) {
+        byte[] name = item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8);
+        reserve(putSize(name));
+        int start = journal.position();
+        journal.position(start + HEADER_SIZE);
+        journal.put(PUT_V2)
+                .putLong(id)
+                .putLong(version)
+                .putInt(flags(item))
+                .putInt(item.getPrice() == null ? 0 : item.getPrice())
+                .putInt(item.getQuantity() == null ? 0 : item.getQuantity())
+                .putInt(name == null ? NAME_NULL : name.length);
+        if (name != null) {
+            journal.put(name);
+        }
+        return seal(start);
+    }
+
+    /**
+     * payload 를 쓴 뒤 길이와 CRC 를 채운다.
+     *
+     * @return 이 레코드까지 쓴 바이트 수 - awaitDurable() 에 넘긴다.
+     */
+    private long seal(int start) {
+        int end = journal.position();
+        ByteBuffer payload = journal.duplicate();
+        payload.position(start + HEADER_SIZE).limit(end);
+        journal.putInt(start, end - start - HEADER_SIZE);
+        journal.putInt(start + Integer.BYTES, checksum(payload));
+        appended += end - start;
+        return appended;
+    }
+
+    private static int putSize(Item item) {
+        return putSize(item.getItemName() == null ? null : item.getItemName().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int putSize(byte[] name) {
+        return 1 + Long.BYTES * 2 + Integer.BYTES * 4 + (name == null ? 0 : name.length);
+    }
+
+    private boolean fits(int payloadSize) {
+        return journal.remaining() >= HEADER_SIZE + payloadSize;
+    }
+
+    private void reserve(int payloadSize) {
+        if (fits(payloadSize)) {
+            return;
+        }
+        compact();
+        if (journal.remaining() < HEADER_SIZE + payloadSize) {
+            throw new IllegalArgumentException("로그 파일보다 큰 레코드입니다. size=" + payloadSize);
+        }
+    }
+
+    private int checksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(generationBytes);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private void setGeneration(long generation) {
+        this.generation = generation;
+        ByteBuffer.wrap(generationBytes).putLong(generation);
+    }
+
+    // ==== 그룹 커밋 ====
+
+    private void awaitDurable(long position) {
+        if (!groupCommit) {
+            synchronized (this) {
+                if (durable < position) {
+                    journal.force();
+                    durable = appended;
+                }
+            }
+            return;
+        }
+        synchronized (flushLock) {
+            if (requested < position) {
+                requested = position;
+                flushLock.notifyAll();
+            }
+            while (durable < position) {
+                if (flushFailure != null) {
+                    throw flushFailure;
+                }
+                try {
+                    flushLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("로그 반영을 기다리는 중 인터럽트", e);
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            synchronized (flushLock) {
+                while (requested <= durable && running) {
+                    try {
+                        flushLock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (requested <= durable) {
+                    return;
+                }
+                target = requested;
+            }
+            try {
+                journal.force();
+            } catch (RuntimeException e) {
+                log.error("로그 반영 실패", e);
+                synchronized (flushLock) {
+                    flushFailure = e;
+                    flushLock.notifyAll();
+                }
+                return;
+            }
+            markDurable(target);
+        }
+    }
+
+    private void markDurable(long position) {
+        synchronized (flushLock) {
+            if (durable < position) {
+                durable = position;
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    // ==== 스냅샷 ====
+
+    /**
+     * 현재 상품 전체를 다음 세대 스냅샷으로 쓰고 로그를 비운다. 쓰기 락을 잡은 상태에서 호출한다.
+     * 스냅샷 교체(rename)가 끝나기 전에 중단되면 이전 스냅샷과 로그가 그대로 남는다.
+     */
+    private void compact() {
+        long start = System.nanoTime();
+        long next = generation + 1;
+        try {
+            writeSnapshot(next);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 저장 실패", e);
+        }
+        setGeneration(next);
+        journal.position(0);
+        //  지금까지의 기록은 모두 스냅샷에 반영되었다.
+        if (groupCommit) {
+            markDurable(appended);
+        } else {
+            durable = appended;
+        }
+        log.info("상품 저장소 압축 generation={}, elapsed={}ms", next, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void writeSnapshot(long generation) throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream raw = Channels.newOutputStream(file);
+            CheckedOutputStream checked = new CheckedOutputStream(raw, new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(generation);
+            out.writeLong(lastId());
+            out.writeLong(clearedUpTo());
+            Iterator<Item> items = super.stream().iterator();
+            while (items.hasNext()) {
+                out.writeBoolean(true);
+                writeItem(out, items.next());
+            }
+            out.writeBoolean(false);
+            out.flush();
+            new DataOutputStream(raw).writeLong(checked.getChecksum().getValue());
+            file.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+    }
+
+    /**
+     * rename 은 디렉터리 항목을 바꾸므로 디렉터리도 force 해야 중단된 뒤에 새 스냅샷이 남는다.
+     * 디렉터리를 열 수 없는 Windows 는 건너뛴다.
+     */
+    private void syncDirectory() throws IOException {
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    /**
+     * 스냅샷 파일을 매핑해서 CRC 를 한 번에 확인한 뒤, 로그 레코드와 같은 방법으로 상품을 읽는다.
+     */
+    private void loadSnapshot() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            setGeneration(0L);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            int end = buffer.capacity() - Long.BYTES;
+            CRC32 crc = new CRC32();
+            if (end > 0) {
+                crc.update(buffer.duplicate().limit(end));
+            }
+            if (end <= 0 || buffer.getLong(end) != crc.getValue()) {
+                throw new IllegalStateException("스냅샷 파일이 손상되었습니다. file=" + snapshot);
+            }
+            int magic = buffer.getInt();
+            boolean versioned;
+            if (magic == SNAPSHOT_MAGIC) {
+                int format = buffer.getInt();
+                if (format != FORMAT_VERSION) {
+                    throw new IllegalStateException("지원하지 않는 스냅샷 형식입니다. format=" + format + ", file=" + snapshot);
+                }
+                versioned = true;
+            } else if (magic == LEGACY_SNAPSHOT_MAGIC) {
+                log.info("이전 형식의 스냅샷을 읽습니다. 다음 압축 때 새 형식으로 다시 씁니다. file={}", snapshot);
+                versioned = false;
+            } else {
+                throw new IllegalStateException("스냅샷 파일이 아닙니다. file=" + snapshot);
+            }
+            setGeneration(buffer.getLong());
+            long lastId = buffer.getLong();
+            long clearedUpTo = buffer.getLong();
+            while (buffer.get() != 0) {
+                restore(readItem(buffer, versioned));
+            }
+            restore(lastId, clearedUpTo);
+        }
+    }
+
+    // ==== 로그 재생 ====
+
+    private long replay() {
+        long records = 0;
+        int position = 0;
+        while (position + HEADER_SIZE <= journal.capacity()) {
+            int length = journal.getInt(position);
+            if (length <= 0 || length > journal.capacity() - position - HEADER_SIZE) {
+                break;
+            }
+            ByteBuffer payload = journal.duplicate();
+            payload.position(position + HEADER_SIZE).limit(position + HEADER_SIZE + length);
+            if (checksum(payload.duplicate()) != journal.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            apply(payload);
+            position += HEADER_SIZE + length;
+            records++;
+        }
+        journal.position(position);
+        return records;
+    }
+
+    private void apply(ByteBuffer payload) {
+        byte type = payload.get();
+        if (type == PUT_V2) {
+            restore(readItem(payload, true));
+        } else if (type == PUT) {
+            restore(readItem(payload, false));
+        } else if (type == CLEAR) {
+            restore(payload.getLong(), clearedUpTo());
+            super.clearStore();
+        } else {
+            //  CRC 가 맞는 레코드이므로 쓰다가 중단된 것이 아니다. 건너뛰면 이후 로그가 지워진다.
+            throw new IllegalStateException("지원하지 않는 로그 레코드입니다. type=" + type);
+        }
+    }
+
+    private static int flags(Item item) {
+        int flags = 0;
+        if (item.getPrice() == null) {
+            flags |= PRICE_NULL;
+        }
+        if (item.getQuantity() == null) {
+            flags |= QUANTITY_NULL;
+        }
+        return flags;
+    }
+
+    private static void writeItem(DataOutputStream out, Item item) throws IOException {
+        out.writeLong(item.getId());
+        out.writeLong(item.getVersion());
+        out.writeInt(flags(item));
+        out.writeInt(item.getPrice() == null ? 0 : item.getPrice());
+        out.writeInt(item.getQuantity() == null ? 0 : item.getQuantity());
+        if (item.getItemName() == null) {
+            out.writeInt(NAME_NULL);
+        } else {
+            byte[] name = item.getItemName().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(name.length);
+            out.write(name);
+        }
+    }
+
+    /**
+     * @param versioned false 면 version 이 없던 이전 형식 - 처음 저장된 상품과 같이 version 1 로 읽는다.
+     */
+    private static Item readItem(ByteBuffer buffer, boolean versioned) {
+        Item item = new Item();
+        item.setId(buffer.getLong());
+        item.setVersion(versioned ? buffer.getLong() : 1L);
+        int flags = buffer.getInt();
+        int price = buffer.getInt();
+        int quantity = buffer.getInt();
+        item.setPrice((flags & PRICE_NULL) != 0 ? null : price);
+        item.setQuantity((flags & QUANTITY_NULL) != 0 ? null : quantity);
+        int nameLength = buffer.getInt();
+        if (nameLength != NAME_NULL) {
+            byte[] name = new byte[nameLength];
+            buffer.get(name);
+            item.setItemName(new String(name, StandardCharsets.UTF_8));
+        }
+        return item;
+    }
+}
@@ -27,6 +27,9 @@ public class Item {
     //@Max(value = 9999,groups = {SaveCheck.class})
     private Integer quantity;
 
+    //  저장소가 저장/수정할 때마다 올린다. 수정 요청에 담아 보내면 저장된 version 과 같을 때만 수정된다.
+    private Long version;
+
     public Item() {
     }
 
@@ -0,0 +1,35 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * id 순서 커서 기반 상품 목록 페이지.
+ * 다음 페이지는 nextAfter 값을 afterId로 넘겨서 조회한다.
+ */
+@Getter
+public class ItemPage {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    private final List<Item> items;
+    private final long nextAfter;
+    private final boolean hasNext;
+
+    public ItemPage(List<Item> items, boolean hasNext) {
+        this.items = items;
+        this.nextAfter = items.isEmpty() ? 0L : items.get(items.size() - 1).getId();
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * limit + 1 개까지 조회한 결과로 페이지를 만든다. 초과분이 있으면 다음 페이지가 있는 것이다.
+     */
+    static ItemPage of(List<Item> fetched, int limit) {
+        if (fetched.size() > limit) {
+            return new ItemPage(fetched.subList(0, limit), true);
+        }
+        return new ItemPage(fetched, false);
+    }
+}
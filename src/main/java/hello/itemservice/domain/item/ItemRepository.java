@@ -1,41 +1,78 @@
 package hello.itemservice.domain.item;
 
-import org.springframework.stereotype.Repository;
-
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-@Repository
-public class ItemRepository {
+/**
+ * 상품 저장소.
+ * item.repository.type 설정으로 구현체를 선택한다. (memory - 기본값, columnar, file)
+ *
+ * 조회한 Item 은 그 시점의 스냅샷이다. 저장소는 저장된 Item 을 고치지 않고 수정할 때마다 새 Item 으로 바꾸므로,
+ * 조회한 쪽에서 수정 도중의 값을 보는 일이 없다. 조회한 Item 은 읽기 전용으로 다룬다.
+ */
+public interface ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    Item save(Item item);
 
-    public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
-        return item;
-    }
+    /**
+     * 여러 상품을 한 번에 저장한다. id는 연속으로 할당된다.
+     */
+    List<Item> saveAll(List<Item> items);
 
-    public Item findById(Long id) {
-        return store.get(id);
-    }
+    Item findById(Long id);
 
-    public List<Item> findAll() {
-        return new ArrayList<>(store.values());
-    }
+    List<Item> findAll();
+
+    /**
+     * afterId 보다 큰 id의 상품을 id 순서로 최대 limit 개 조회한다.
+     * 비용은 전체 상품 수가 아니라 페이지 크기에 비례한다.
+     */
+    ItemPage findPage(long afterId, int limit);
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+    /**
+     * 호출 시점까지 저장된 id 범위의 상품을 id 순서로 하나씩 흘려보낸다. 전체 목록을 복사하지 않는다.
+     */
+    Stream<Item> stream();
+
+    /**
+     * 상품명이 prefix 로 시작하는 상품을 상품명(같으면 id) 순서로 최대 limit 개 조회한다.
+     * 기본 구현은 전체 상품을 훑는다. MemoryItemRepository, ColumnarItemRepository 는 정렬 인덱스를 사용한다.
+     */
+    default List<Item> findByItemNamePrefix(String prefix, int limit) {
+        return stream()
+                .filter(item -> item.getItemName() != null && item.getItemName().startsWith(prefix))
+                .sorted(Comparator.comparing(Item::getItemName).thenComparing(Item::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
     }
 
-    public void clearStore() {
-        store.clear();
+    /**
+     * 가격이 minPrice 이상 maxPrice 이하인 상품을 가격(같으면 id) 순서로 최대 limit 개 조회한다.
+     * 기본 구현은 전체 상품을 훑는다. MemoryItemRepository, ColumnarItemRepository 는 정렬 인덱스를 사용한다.
+     */
+    default List<Item> findByPriceRange(int minPrice, int maxPrice, int limit) {
+        return stream()
+                .filter(item -> item.getPrice() != null && item.getPrice() >= minPrice && item.getPrice() <= maxPrice)
+                .sorted(Comparator.comparing(Item::getPrice).thenComparing(Item::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
     }
 
+    /**
+     * 상품명, 가격, 수량을 바꾸고 version 을 올린다.
+     * updateParam 에 version 이 있으면 저장된 version 과 같을 때만 바꾼다. (낙관적 잠금)
+     *
+     * @return 바꿨으면 true, 상품이 없거나 다른 요청이 먼저 수정해서 version 이 다르면 false
+     */
+    boolean update(Long itemId, Item updateParam);
+
+    void clearStore();
+
+    /**
+     * 저장소 전체의 변경 번호(목록 화면의 약한 ETag). 바뀌지 않았으면 같은 객체를 돌려준다.
+     */
+    CatalogVersion catalogVersion();
+
 }
@@ -0,0 +1,266 @@
+package hello.itemservice.domain.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 저장소. 저장/수정할 때 받은 Item 을 복사해서 보관하고, 조회할 때도 복사본을 돌려준다.
+ * Item 은 폼 바인딩에 쓰는 가변 객체(@Data)이므로, 조회한 Item 을 고쳐도 저장된 상품과 인덱스는 바뀌지 않는다. 수정은 update()로 한다.
+ */
+@Repository
+@ConditionalOnProperty(name = "item.repository.type", havingValue = "memory", matchIfMissing = true)
+public class MemoryItemRepository implements ItemRepository {
+
+    //  여러 요청이 동시에 저장/수정해도 유실이나 ID 중복이 없도록 동시성 자료구조를 사용한다.
+    private final Map<Long, Item> store = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    //  clearStore() 시점의 sequence - 이 값 이하의 id는 더 이상 존재하지 않는다.
+    private volatile long clearedUpTo = 0L;
+    private final AtomicReference<CatalogVersion> catalogVersion = new AtomicReference<>(CatalogVersion.initial());
+
+    //  상품명/가격 보조 인덱스 - (값, id) 순서로 정렬된다.
+    //  store 에 먼저 반영한 뒤 인덱스를 갱신하므로, 조회할 때는 store 의 현재 값과 다시 비교해서 지난 항목을 걸러낸다.
+    private final NavigableSet<IndexKey<String>> nameIndex = new ConcurrentSkipListSet<>();
+    private final NavigableSet<IndexKey<Integer>> priceIndex = new ConcurrentSkipListSet<>();
+
+    @Override
+    public Item save(Item item) {
+        item.setId(sequence.incrementAndGet());
+        item.setVersion(1L);
+        Item snapshot = snapshot(item.getId(), item, 1L);
+        store.put(snapshot.getId(), snapshot);
+        index(snapshot);
+        catalogVersion.updateAndGet(CatalogVersion::next);
+        return item;
+    }
+
+    @Override
+    public List<Item> saveAll(List<Item> items) {
+        long firstId = sequence.getAndAdd(items.size()) + 1;
+        Map<Long, Item> batch = new HashMap<>(items.size() * 4 / 3 + 1);
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            item.setId(firstId + i);
+            item.setVersion(1L);
+            batch.put(item.getId(), snapshot(item.getId(), item, 1L));
+        }
+        store.putAll(batch);
+        batch.values().forEach(this::index);
+        catalogVersion.updateAndGet(CatalogVersion::next);
+        return items;
+    }
+
+    @Override
+    public Item findById(Long id) {
+        return copy(store.get(id));
+    }
+
+    @Override
+    public List<Item> findAll() {
+        List<Item> result = new ArrayList<>(store.size());
+        for (Item item : store.values()) {
+            result.add(copy(item));
+        }
+        return result;
+    }
+
+    @Override
+    public ItemPage findPage(long afterId, int limit) {
+        long lastId = sequence.get();
+        List<Item> fetched = new ArrayList<>(limit + 1);
+        for (long id = Math.max(afterId, clearedUpTo) + 1; id <= lastId && fetched.size() <= limit; id++) {
+            Item item = store.get(id);
+            if (item != null) {
+                fetched.add(copy(item));
+            }
+        }
+        return ItemPage.of(fetched, limit);
+    }
+
+    @Override
+    public Stream<Item> stream() {
+        return LongStream.rangeClosed(clearedUpTo + 1, sequence.get())
+                .mapToObj(store::get)
+                .filter(Objects::nonNull)
+                .map(MemoryItemRepository::copy);
+    }
+
+    @Override
+    public List<Item> findByItemNamePrefix(String prefix, int limit) {
+        List<Item> result = new ArrayList<>(Math.min(limit, 64));
+        for (IndexKey<String> key : nameIndex.tailSet(new IndexKey<>(prefix, Long.MIN_VALUE))) {
+            if (result.size() == limit || !key.value.startsWith(prefix)) {
+                break;
+            }
+            Item item = store.get(key.id);
+            if (item != null && key.value.equals(item.getItemName())) {
+                result.add(copy(item));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Item> findByPriceRange(int minPrice, int maxPrice, int limit) {
+        List<Item> result = new ArrayList<>(Math.min(limit, 64));
+        if (minPrice > maxPrice) {
+            return result;
+        }
+        for (IndexKey<Integer> key : priceIndex.subSet(
+                new IndexKey<>(minPrice, Long.MIN_VALUE), true, new IndexKey<>(maxPrice, Long.MAX_VALUE), true)) {
+            if (result.size() == limit) {
+                break;
+            }
+            Item item = store.get(key.id);
+            if (item != null && key.value.equals(item.getPrice())) {
+                result.add(copy(item));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean update(Long itemId, Item updateParam) {
+        //  같은 상품에 대한 수정은 computeIfPresent 안에서 하나씩 적용된다. (다른 상품의 수정과는 서로 막지 않는다)
+        //  저장된 Item 을 고치지 않고 version 을 올린 새 Item 으로 바꾼다.
+        //  새 인덱스 항목을 먼저 넣고 이전 항목을 지우므로, 수정 중에도 인덱스 조회에서 빠지지 않는다.
+        Long expectedVersion = updateParam.getVersion();
+        boolean[] updated = new boolean[1];
+        store.computeIfPresent(itemId, (id, current) -> {
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                return current;
+            }
+            Item next = snapshot(id, updateParam, current.getVersion() + 1);
+            index(next);
+            if (current.getItemName() != null && !current.getItemName().equals(next.getItemName())) {
+                nameIndex.remove(new IndexKey<>(current.getItemName(), id));
+            }
+            if (current.getPrice() != null && !current.getPrice().equals(next.getPrice())) {
+                priceIndex.remove(new IndexKey<>(current.getPrice(), id));
+            }
+            updated[0] = true;
+            return next;
+        });
+        if (updated[0]) {
+            catalogVersion.updateAndGet(CatalogVersion::next);
+        }
+        return updated[0];
+    }
+
+    @Override
+    public void clearStore() {
+        clearedUpTo = sequence.get();
+        store.clear();
+        nameIndex.clear();
+        priceIndex.clear();
+        catalogVersion.updateAndGet(CatalogVersion::next);
+    }
+
+    @Override
+    public CatalogVersion catalogVersion() {
+        return catalogVersion.get();
+    }
+
+    private static Item snapshot(Long id, Item source, long version) {
+        Item item = new Item(source.getItemName(), source.getPrice(), source.getQuantity());
+        item.setId(id);
+        item.setVersion(version);
+        return item;
+    }
+
+    private static Item copy(Item stored) {
+        return stored == null ? null : snapshot(stored.getId(), stored, stored.getVersion());
+    }
+
+    private void index(Item item) {
+        if (item.getItemName() != null) {
+            nameIndex.add(new IndexKey<>(item.getItemName(), item.getId()));
+        }
+        if (item.getPrice() != null) {
+            priceIndex.add(new IndexKey<>(item.getPrice(), item.getId()));
+        }
+    }
+
+    private void unindex(Item item) {
+        if (item.getItemName() != null) {
+            nameIndex.remove(new IndexKey<>(item.getItemName(), item.getId()));
+        }
+        if (item.getPrice() != null) {
+            priceIndex.remove(new IndexKey<>(item.getPrice(), item.getId()));
+        }
+    }
+
+    //  아래는 FileItemRepository 가 스냅샷/로그로 상태를 복구하거나 스냅샷을 만들 때 사용한다.
+
+    void restore(Item item) {
+        Item previous = store.put(item.getId(), item);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(item);
+        sequence.accumulateAndGet(item.getId(), Math::max);
+    }
+
+    void restore(long lastId, long clearedUpTo) {
+        sequence.accumulateAndGet(lastId, Math::max);
+        this.clearedUpTo = clearedUpTo;
+    }
+
+    long lastId() {
+        return sequence.get();
+    }
+
+    long clearedUpTo() {
+        return clearedUpTo;
+    }
+
+    /**
+     * 인덱스 항목 - 값이 같으면 id 순서로 정렬된다.
+     */
+    static final class IndexKey<T extends Comparable<T>> implements Comparable<IndexKey<T>> {
+
+        private final T value;
+        private final long id;
+
+        IndexKey(T value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(IndexKey<T> other) {
+            int result = value.compareTo(other.value);
+            return result != 0 ? result : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IndexKey)) {
+                return false;
+            }
+            IndexKey<?> other = (IndexKey<?>) o;
+            return id == other.id && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value, id);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package hello.itemservice.message;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * spring.messages.* 설정은 그대로 사용하고, 스프링 부트가 만드는 ResourceBundleMessageSource 대신
+ * PreResolvedMessageSource 를 등록한다. message.pre-resolve.enabled=false 이면 스프링 부트 기본 설정을 사용한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "message.pre-resolve.enabled", havingValue = "true", matchIfMissing = true)
+public class MessageConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    @Bean
+    public MessageSource messageSource(MessageSourceProperties properties,
+                                       @Value("${message.pre-resolve.locales:ko,ko_KR,en,en_US}") String locales) {
+        PreResolvedMessageSource messageSource = new PreResolvedMessageSource();
+        if (StringUtils.hasText(properties.getBasename())) {
+            messageSource.setBasenames(StringUtils.commaDelimitedListToStringArray(
+                    StringUtils.trimAllWhitespace(properties.getBasename())));
+        }
+        if (properties.getEncoding() != null) {
+            messageSource.setDefaultEncoding(properties.getEncoding().name());
+        }
+        messageSource.setFallbackToSystemLocale(properties.isFallbackToSystemLocale());
+        messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+        messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+
+        //  메시지 파일을 주기적으로 다시 읽도록 설정했다면 미리 만든 표가 낡게 되므로 사용하지 않는다.
+        if (properties.getCacheDuration() != null) {
+            messageSource.setCacheMillis(properties.getCacheDuration().toMillis());
+            return messageSource;
+        }
+
+        Set<Locale> preResolved = new LinkedHashSet<>();
+        preResolved.add(Locale.getDefault());
+        for (String locale : StringUtils.commaDelimitedListToSet(locales)) {
+            preResolved.add(StringUtils.parseLocale(locale.trim()));
+        }
+        messageSource.preResolve(preResolved);
+        return messageSource;
+    }
+}
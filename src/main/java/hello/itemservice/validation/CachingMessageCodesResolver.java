@@ -0,0 +1,103 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오류 코드 생성 결과를 (errorCode, objectName, field, fieldType) 별로 캐시한다.
+ * required.item.itemName ~ required 같은 코드 배열을 오류마다 문자열 결합으로 다시 만들지 않는다.
+ * 반환하는 배열은 같은 키의 모든 오류가 공유하므로 호출하는 쪽은 수정하면 안 된다.
+ * 스프링의 FieldError/ObjectError 는 받은 배열을 그대로 보관하고 getCodes() 로 내보내기만 한다.
+ * 배열을 고쳐야 하는 곳(예: 코드를 덧붙이는 BindingErrorProcessor)은 먼저 복사해야 한다.
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    //  필드 이름은 폼 클래스에서 오므로 사실상 유한하지만, 혹시 모를 증가에 대비해 상한을 둔다.
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final MessageCodesResolver delegate;
+    private final Map<CodesKey, String[]> cache = new ConcurrentHashMap<>();
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return 캐시된 공유 배열 - 수정하면 안 된다.
+     */
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        CodesKey key = new CodesKey(errorCode, objectName, null, null);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = delegate.resolveMessageCodes(errorCode, objectName);
+            put(key, codes);
+        }
+        return codes;
+    }
+
+    /**
+     * @return 캐시된 공유 배열 - 수정하면 안 된다.
+     */
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        CodesKey key = new CodesKey(errorCode, objectName, field, fieldType);
+        String[] codes = cache.get(key);
+        if (codes == null) {
+            codes = delegate.resolveMessageCodes(errorCode, objectName, field, fieldType);
+            put(key, codes);
+        }
+        return codes;
+    }
+
+    private void put(CodesKey key, String[] codes) {
+        if (cache.size() < MAX_ENTRIES) {
+            cache.putIfAbsent(key, codes);
+        }
+    }
+
+    private static class CodesKey {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final int hash;
+
+        CodesKey(String errorCode, String objectName, String field, Class<?> fieldType) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            //  Objects.hash 는 가변 인자 배열을 만들므로 직접 계산한다.
+            int hash = Objects.hashCode(errorCode);
+            hash = 31 * hash + Objects.hashCode(objectName);
+            hash = 31 * hash + Objects.hashCode(field);
+            hash = 31 * hash + Objects.hashCode(fieldType);
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CodesKey)) {
+                return false;
+            }
+            CodesKey other = (CodesKey) o;
+            return fieldType == other.fieldType
+                    && Objects.equals(errorCode, other.errorCode)
+                    && Objects.equals(objectName, other.objectName)
+                    && Objects.equals(field, other.field);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
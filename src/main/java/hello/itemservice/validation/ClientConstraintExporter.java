@@ -0,0 +1,226 @@
+package hello.itemservice.validation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버 제약조건(CompiledValidator)과 복합 룰(CrossFieldRules)을 브라우저에서 검사할 수 있는 규칙(JSON)으로 바꾼다.
+ * 메시지는 같은 오류 코드를 같은 MessageSource 로 풀어서 서버가 보여주는 메시지와 같다.
+ * 브라우저에서 검사할 수 없는 제약조건은 빼고, 서버에서만 검사한다.
+ * 만든 JSON 은 타입/objectName/Locale 별로 캐시하고, 검증 설정 파일을 다시 읽으면 새로 만든다.
+ * 요청 Locale 은 LocaleResolver 가 지원 Locale 로 맞춰 주지만, 그 밖의 Locale 로 불려도 캐시는 MAX_CACHED 개를 넘지 않는다.
+ */
+public class ClientConstraintExporter {
+
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(Integer.class, Long.class, Short.class, Byte.class);
+    private static final int MAX_CACHED = 64;
+
+    private final CompiledValidator validator;
+    private final CrossFieldRules crossFieldRules;
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    //  실제 검증과 같은 코드를 만들되, 오류 수 메트릭(MeteredMessageCodesResolver)은 올리지 않는다.
+    private final MessageCodesResolver codesResolver = new DefaultMessageCodesResolver();
+
+    private final Map<List<Object>, Exported> cache = new ConcurrentHashMap<>();
+
+    public ClientConstraintExporter(CompiledValidator validator, CrossFieldRules crossFieldRules,
+                                    MessageSource messageSource, ObjectMapper objectMapper) {
+        this.validator = validator;
+        this.crossFieldRules = crossFieldRules;
+        this.messageSource = messageSource;
+        this.objectMapper = objectMapper;
+    }
+
+    public String json(Class<?> type, String objectName, Locale locale) {
+        List<Object> key = List.of(type, objectName, locale);
+        ConstraintOverrides overrides = validator.getOverrides();
+        Exported exported = cache.get(key);
+        if (exported == null || exported.overrides != overrides) {
+            exported = new Exported(overrides, write(export(type, objectName, locale)));
+            //  가득 차면 새 키는 캐시하지 않고 매번 만든다. 이미 있는 키는 다시 읽은 설정으로 바꾼다.
+            if (cache.size() < MAX_CACHED || cache.containsKey(key)) {
+                cache.put(key, exported);
+            }
+        }
+        return exported.json;
+    }
+
+    public ClientConstraints export(Class<?> type, String objectName, Locale locale) {
+        ClientConstraints constraints = new ClientConstraints();
+        CompiledBean bean = validator.compiledBean(type);
+        if (bean != null) {
+            for (CompiledProperty property : bean.getProperties()) {
+                List<ClientConstraints.FieldConstraint> fieldConstraints =
+                        fieldConstraints(type, objectName, property, locale);
+                if (!fieldConstraints.isEmpty()) {
+                    constraints.getFields().put(property.getName(), fieldConstraints);
+                }
+            }
+        }
+        crossFieldRules.parsedRules(type).forEach((code, rule) ->
+                constraints.getRules().add(rule(code, rule, objectName, locale)));
+        return constraints;
+    }
+
+    private List<ClientConstraints.FieldConstraint> fieldConstraints(Class<?> type, String objectName,
+                                                                     CompiledProperty property, Locale locale) {
+        List<ClientConstraints.FieldConstraint> result = new ArrayList<>();
+        Class<?> propertyType = ClassUtils.resolvePrimitiveIfNecessary(
+                BeanUtils.getPropertyDescriptor(type, property.getName()).getPropertyType());
+        if (INTEGRAL_TYPES.contains(propertyType)) {
+            ClientConstraints.FieldConstraint typeMismatch = new ClientConstraints.FieldConstraint();
+            typeMismatch.setInteger(true);
+            typeMismatch.setMessage(typeMismatchMessage(objectName, property.getName(), propertyType, locale));
+            result.add(typeMismatch);
+        }
+        for (CompiledConstraint constraint : property.getConstraints()) {
+            ClientConstraints.FieldConstraint fieldConstraint = new ClientConstraints.FieldConstraint();
+            if (describe(constraint.getDescriptor(), propertyType, fieldConstraint)
+                    && (fieldConstraint.getRequired() != null || fieldConstraint.getMin() != null
+                    || fieldConstraint.getMax() != null)) {
+                fieldConstraint.setMessage(message(type, objectName, constraint, locale));
+                result.add(fieldConstraint);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 브라우저에서 검사할 수 있는 제약조건이면 true. 합성 제약조건(@Range)은 구성 제약조건을 모두 검사할 수 있어야 한다.
+     */
+    private static boolean describe(ConstraintDescriptor<?> descriptor, Class<?> propertyType,
+                                    ClientConstraints.FieldConstraint result) {
+        if (!descriptor.getComposingConstraints().isEmpty()) {
+            for (ConstraintDescriptor<?> part : descriptor.getComposingConstraints()) {
+                if (!describe(part, propertyType, result)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        Class<? extends Annotation> annotationType = descriptor.getAnnotation().annotationType();
+        boolean text = CharSequence.class.isAssignableFrom(propertyType);
+        if (annotationType == NotNull.class) {
+            //  문자 필드는 빈 입력도 "" 로 바인딩되어 null 이 아니다. 숫자 필드는 공백만 있어도 null 로 바인딩된다.
+            if (!text) {
+                result.setRequired(true);
+                result.setTrim(true);
+            }
+            return true;
+        }
+        if (annotationType == NotBlank.class && text) {
+            result.setRequired(true);
+            result.setTrim(true);
+            return true;
+        }
+        if (annotationType == NotEmpty.class && text) {
+            result.setRequired(true);
+            return true;
+        }
+        if (annotationType == Min.class && INTEGRAL_TYPES.contains(propertyType)) {
+            result.setMin((Long) descriptor.getAttributes().get("value"));
+            return true;
+        }
+        if (annotationType == Max.class && INTEGRAL_TYPES.contains(propertyType)) {
+            result.setMax((Long) descriptor.getAttributes().get("value"));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 검증할 때와 같은 방법으로 FieldError 를 만들어서 메시지를 푼다.
+     */
+    private String message(Class<?> type, String objectName, CompiledConstraint constraint, Locale locale) {
+        Errors errors = new BeanPropertyBindingResult(BeanUtils.instantiateClass(type), objectName);
+        ((BeanPropertyBindingResult) errors).setMessageCodesResolver(codesResolver);
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocale(locale);
+        try {
+            constraint.reject(errors, null);
+        } finally {
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+        FieldError error = errors.getFieldErrors().get(0);
+        return messageSource.getMessage(error, locale);
+    }
+
+    //  DefaultBindingErrorProcessor 가 만드는 typeMismatch 오류와 같은 코드, 인자
+    private String typeMismatchMessage(String objectName, String field, Class<?> fieldType, Locale locale) {
+        String[] codes = codesResolver.resolveMessageCodes("typeMismatch", objectName, field, fieldType);
+        Object[] arguments = {new DefaultMessageSourceResolvable(
+                new String[]{objectName + Errors.NESTED_PATH_SEPARATOR + field, field}, field)};
+        return messageSource.getMessage(new DefaultMessageSourceResolvable(codes, arguments, "typeMismatch"), locale);
+    }
+
+    private ClientConstraints.Rule rule(String code, CrossFieldRules.ParsedRule parsed, String objectName, Locale locale) {
+        ClientConstraints.Rule rule = new ClientConstraints.Rule();
+        rule.setCode(code);
+        Set<String> fields = new LinkedHashSet<>();
+        RuleCompiler.referencedFields(parsed.getCondition(), fields);
+        List<Map<String, Object>> arguments = new ArrayList<>();
+        for (SpelNode argument : parsed.getArguments()) {
+            RuleCompiler.referencedFields(argument, fields);
+            arguments.add(RuleCompiler.describe(argument));
+        }
+        rule.setFields(fields);
+        rule.setCondition(RuleCompiler.describe(parsed.getCondition()));
+        rule.setArguments(arguments);
+
+        //  인자 자리에 {0}, {1} ... 을 그대로 넣어서 브라우저가 값을 채울 메시지 틀을 만든다.
+        Object[] placeholders = new Object[arguments.size()];
+        for (int i = 0; i < placeholders.length; i++) {
+            placeholders[i] = "{" + i + "}";
+        }
+        rule.setMessage(messageSource.getMessage(new DefaultMessageSourceResolvable(
+                codesResolver.resolveMessageCodes(code, objectName), placeholders, code), locale));
+        return rule;
+    }
+
+    private String write(ClientConstraints constraints) {
+        try {
+            return objectMapper.writeValueAsString(constraints);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Exported {
+
+        private final ConstraintOverrides overrides;
+        private final String json;
+
+        Exported(ConstraintOverrides overrides, String json) {
+            this.overrides = overrides;
+            this.json = json;
+        }
+    }
+}
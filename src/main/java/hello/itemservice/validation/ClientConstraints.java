@@ -0,0 +1,57 @@
+package hello.itemservice.validation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 브라우저에서 검사할 검증 규칙 (/js/validation.js). 서버는 이 규칙과 상관없이 항상 다시 검증한다.
+ */
+@Getter
+public class ClientConstraints {
+
+    //  필드 이름 -> 제약조건 (순서대로 검사)
+    private final Map<String, List<FieldConstraint>> fields = new LinkedHashMap<>();
+    private final List<Rule> rules = new ArrayList<>();
+
+    /**
+     * 필드 제약조건 하나. 값이 있는 속성만 검사한다.
+     */
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class FieldConstraint {
+
+        //  빈 값이면 오류 (trim 이면 공백만 있어도 오류)
+        private Boolean required;
+        private Boolean trim;
+        //  정수로 바꿀 수 없으면 오류 (typeMismatch) - 이 오류가 나면 필드의 나머지 제약조건은 검사하지 않는다.
+        private Boolean integer;
+        private Long min;
+        private Long max;
+        private String message;
+    }
+
+    /**
+     * 복합 룰. 식은 {"value": 10000}, {"field": "price"}, {"op": "*", "args": [...]} 트리이고,
+     * 메시지의 {0}, {1} ... 에 arguments 식의 값을 넣는다.
+     */
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    public static class Rule {
+
+        private String code;
+        //  하나라도 비어 있거나 숫자가 아니면 검사하지 않는다.
+        private Set<String> fields;
+        private Map<String, Object> condition;
+        private List<Map<String, Object>> arguments;
+        private String message;
+    }
+}
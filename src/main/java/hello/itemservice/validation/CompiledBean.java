@@ -0,0 +1,31 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.Errors;
+
+/**
+ * 한 타입, 한 그룹 조합에 대해 컴파일된 검증기.
+ */
+class CompiledBean {
+
+    private final CompiledProperty[] properties;
+
+    CompiledBean(CompiledProperty[] properties) {
+        this.properties = properties;
+    }
+
+    CompiledProperty[] getProperties() {
+        return properties;
+    }
+
+    void validate(Object target, Errors errors) {
+        validate(target, errors, false);
+    }
+
+    void validate(Object target, Errors errors, boolean failFast) {
+        for (CompiledProperty property : properties) {
+            if (!property.validate(target, errors, failFast) && failFast) {
+                return;
+            }
+        }
+    }
+}
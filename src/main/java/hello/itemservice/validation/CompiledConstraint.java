@@ -0,0 +1,141 @@
+package hello.itemservice.validation;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.metadata.ConstraintDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컴파일된 제약조건 하나.
+ * 오류 코드, 인자, 기본 메시지는 SpringValidatorAdapter 와 같은 규칙으로 만들고,
+ * 인자 배열은 objectName 별 ErrorDescriptor 로, 기본 메시지는 Locale 별로 한 번 만든 뒤 재사용한다.
+ * 기본 메시지는 ErrorDescriptor.MAX_LOCALES 개의 Locale 까지만 보관한다.
+ */
+class CompiledConstraint {
+
+    private static final Set<String> INTERNAL_ATTRIBUTES = Set.of("message", "groups", "payload");
+
+    private final String field;
+    private final String code;
+    private final ConstraintDescriptor<?> descriptor;
+    private final ConstraintCheck check;
+    private final MessageInterpolator interpolator;
+
+    private final Map<String, ErrorDescriptor> descriptorsByObjectName = new ConcurrentHashMap<>();
+    private final Map<Locale, String> messagesByLocale = new ConcurrentHashMap<>();
+
+    CompiledConstraint(String field, ConstraintDescriptor<?> descriptor, ConstraintCheck check,
+                       MessageInterpolator interpolator) {
+        this.field = field;
+        this.code = descriptor.getAnnotation().annotationType().getSimpleName();
+        this.descriptor = descriptor;
+        this.check = check;
+        this.interpolator = interpolator;
+    }
+
+    ConstraintDescriptor<?> getDescriptor() {
+        return descriptor;
+    }
+
+    ConstraintCheck getCheck() {
+        return check;
+    }
+
+    void reject(Errors errors, Object rejectedValue) {
+        ErrorDescriptor errorDescriptor = errorDescriptor(errors.getObjectName());
+        //  코드 배열과 FieldError 는 오류를 읽을 때 만든다.
+        if (errors instanceof LazyErrors) {
+            LazyErrors lazyErrors = (LazyErrors) errors;
+            if (!lazyErrors.isBindingFailure(field)) {
+                lazyErrors.reject(errorDescriptor, rejectedValue);
+            }
+            return;
+        }
+        //  타입 변환 실패(typeMismatch)가 이미 있는 필드는 Bean Validation 오류를 추가하지 않는다.
+        FieldError fieldError = errors.getFieldError(field);
+        if (fieldError != null && fieldError.isBindingFailure()) {
+            return;
+        }
+        Object[] arguments = errorDescriptor.getArguments();
+        String message = message(LocaleContextHolder.getLocale());
+        if (errors instanceof BindingResult) {
+            BindingResult bindingResult = (BindingResult) errors;
+            bindingResult.addError(new FieldError(errors.getObjectName(), bindingResult.getNestedPath() + field,
+                    rejectedValue, false, bindingResult.resolveMessageCodes(code, field), arguments, message));
+        } else {
+            errors.rejectValue(field, code, arguments, message);
+        }
+    }
+
+    ErrorDescriptor errorDescriptor(String objectName) {
+        return descriptorsByObjectName.computeIfAbsent(objectName,
+                key -> new ErrorDescriptor(field, code, createArguments(key), this::message));
+    }
+
+    String message(Locale locale) {
+        String message = messagesByLocale.get(locale);
+        if (message == null) {
+            message = interpolator.interpolate(descriptor.getMessageTemplate(), new DescriptorContext(descriptor), locale);
+            if (messagesByLocale.size() < ErrorDescriptor.MAX_LOCALES) {
+                messagesByLocale.putIfAbsent(locale, message);
+            }
+        }
+        return message;
+    }
+
+    private Object[] createArguments(String objectName) {
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(new DefaultMessageSourceResolvable(new String[]{objectName + Errors.NESTED_PATH_SEPARATOR + field, field}, field));
+        Map<String, Object> attributes = new TreeMap<>();
+        descriptor.getAttributes().forEach((name, value) -> {
+            if (!INTERNAL_ATTRIBUTES.contains(name)) {
+                attributes.put(name, value instanceof String
+                        ? new DefaultMessageSourceResolvable(new String[]{(String) value}, (String) value) : value);
+            }
+        });
+        arguments.addAll(attributes.values());
+        return arguments.toArray();
+    }
+
+    /**
+     * 검증 값 없이 제약조건 속성만으로 메시지를 만든다. ${validatedValue} 를 쓰는 메시지는 컴파일 대상이 아니다.
+     */
+    private static class DescriptorContext implements MessageInterpolator.Context {
+
+        private final ConstraintDescriptor<?> descriptor;
+
+        DescriptorContext(ConstraintDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return descriptor;
+        }
+
+        @Override
+        public Object getValidatedValue() {
+            return null;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+            throw new ValidationException("Type " + type + " not supported for unwrapping.");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.Errors;
+
+import java.util.function.Function;
+
+class CompiledProperty {
+
+    private final String name;
+    private final Function<Object, Object> getter;
+    private final CompiledConstraint[] constraints;
+
+    CompiledProperty(String name, Function<Object, Object> getter, CompiledConstraint[] constraints) {
+        this.name = name;
+        this.getter = getter;
+        this.constraints = constraints;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    CompiledConstraint[] getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * @return 제약조건을 모두 만족하면 true
+     */
+    boolean validate(Object target, Errors errors, boolean failFast) {
+        Object value = getter.apply(target);
+        boolean valid = true;
+        for (CompiledConstraint constraint : constraints) {
+            if (!constraint.getCheck().isValid(value)) {
+                constraint.reject(errors, value);
+                if (failFast) {
+                    return false;
+                }
+                valid = false;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,223 @@
+package hello.itemservice.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 등록된 타입의 Bean Validation 제약조건(@NotBlank, @NotNull, @Range, @Max ...)을 시작 시점에 컴파일해서
+ * 리플렉션 없이 바로 검사하는 Spring Validator.
+ * 오류 코드/인자/기본 메시지는 Hibernate Validator + SpringValidatorAdapter 결과와 같다.
+ * 등록되지 않았거나 컴파일할 수 없는 타입은 Bean Validation(LocalValidatorFactoryBean)에 그대로 위임한다.
+ * 검증 힌트에 FailFast 가 있으면 첫 번째 오류에서 멈춘다.
+ */
+@Slf4j
+public class CompiledValidator implements SmartValidator {
+
+    private static final Class<?>[] DEFAULT_GROUPS = {javax.validation.groups.Default.class};
+
+    private final LocalValidatorFactoryBean beanValidator;
+    //  컴파일하지 못한 타입을 FailFast 힌트로 검증할 때 사용한다. (Hibernate Validator failFast)
+    private final SpringValidatorAdapter failFastValidator;
+    private final ConstraintCompiler compiler;
+    private final Set<Class<?>> types;
+
+    //  설정을 다시 읽으면 새로 컴파일한 Compiled 로 한 번에 바꾼다. 검증 중인 요청은 읽어 둔 이전 Compiled 를 그대로 쓴다.
+    //  ConstraintConfigWatcher 가 함께 바꾸는 복합 룰도 같은 Compiled 에 담긴다. (CrossFieldRules.bind)
+    private volatile Compiled compiled = new Compiled(ConstraintOverrides.NONE, null);
+
+    public CompiledValidator(LocalValidatorFactoryBean beanValidator, Collection<Class<?>> types) {
+        this.beanValidator = beanValidator;
+        this.failFastValidator = new SpringValidatorAdapter(beanValidator.unwrap(HibernateValidatorFactory.class)
+                .usingContext().failFast(true).getValidator());
+        this.compiler = new ConstraintCompiler(beanValidator, beanValidator.getMessageInterpolator());
+        this.types = Set.copyOf(types);
+        for (Class<?> type : types) {
+            compiledBean(type, DEFAULT_GROUPS);
+        }
+    }
+
+    public ConstraintOverrides getOverrides() {
+        return compiled.overrides;
+    }
+
+    /**
+     * 바뀐 설정으로 지금까지 컴파일한 타입/그룹 조합을 모두 다시 컴파일한다. 요청 스레드는 기다리지 않는다.
+     * 설정이 잘못되었으면 예외가 나고 기존 검증기를 계속 사용한다.
+     */
+    Compiled prepare(ConstraintOverrides overrides) {
+        return prepare(overrides, compiled.rules);
+    }
+
+    /**
+     * 복합 룰과 함께 바꿀 Compiled - apply 한 번으로 제약조건과 복합 룰이 함께 바뀐다.
+     */
+    Compiled prepare(ConstraintOverrides overrides, CrossFieldRules.Compiled rules) {
+        Compiled previous = compiled;
+        Compiled next = new Compiled(overrides, rules);
+        for (Class<?> type : previous.defaultGroupBeans.keySet()) {
+            next.defaultGroupBeans.put(type, compile(type, DEFAULT_GROUPS, overrides));
+        }
+        for (GroupKey key : previous.groupBeans.keySet()) {
+            next.groupBeans.put(key, compile(key.type, key.groups, overrides));
+        }
+        return next;
+    }
+
+    void apply(Compiled next) {
+        compiled = next;
+    }
+
+    /**
+     * 설정 파일로 바꾼 복합 룰, 없으면 null
+     */
+    CrossFieldRules.Compiled getRules() {
+        return compiled.rules;
+    }
+
+    /**
+     * 그룹 조합을 미리 컴파일해 둔다. 미리 하지 않은 조합은 처음 검증할 때 컴파일된다.
+     */
+    public void precompile(Class<?> type, Class<?>... groups) {
+        compiledBean(type, groups);
+    }
+
+    boolean isCompiled(Class<?> type, Class<?>... groups) {
+        return types.contains(type) && compiledBean(type, groups.length == 0 ? DEFAULT_GROUPS : groups).isPresent();
+    }
+
+    /**
+     * 기본 그룹으로 컴파일된 검증기. 컴파일하지 못한 타입이면 null
+     */
+    CompiledBean compiledBean(Class<?> type) {
+        return types.contains(type) ? compiledBean(type, DEFAULT_GROUPS).orElse(null) : null;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return beanValidator.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        Optional<CompiledBean> bean = types.contains(target.getClass())
+                ? compiledBean(target.getClass(), DEFAULT_GROUPS) : Optional.empty();
+        if (bean.isPresent()) {
+            bean.get().validate(target, errors);
+        } else {
+            beanValidator.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        boolean failFast = isFailFast(validationHints);
+        //  바인딩 오류(typeMismatch)만으로 이미 유효하지 않다.
+        if (failFast && errors.hasErrors()) {
+            return;
+        }
+        Class<?>[] groups = groups(validationHints);
+        Optional<CompiledBean> bean = types.contains(target.getClass())
+                ? compiledBean(target.getClass(), groups) : Optional.empty();
+        if (bean.isPresent()) {
+            bean.get().validate(target, errors, failFast);
+        } else if (failFast) {
+            failFastValidator.validate(target, errors, (Object[]) groups);
+        } else {
+            beanValidator.validate(target, errors, validationHints);
+        }
+    }
+
+    public static boolean isFailFast(Object... validationHints) {
+        for (Object hint : validationHints) {
+            if (hint == FailFast.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors, Object... validationHints) {
+        beanValidator.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    private Optional<CompiledBean> compiledBean(Class<?> type, Class<?>[] groups) {
+        Compiled current = compiled;
+        if (groups == DEFAULT_GROUPS) {
+            return current.defaultGroupBeans.computeIfAbsent(type,
+                    key -> compile(key, DEFAULT_GROUPS, current.overrides));
+        }
+        return current.groupBeans.computeIfAbsent(new GroupKey(type, groups),
+                key -> compile(type, groups, current.overrides));
+    }
+
+    private Optional<CompiledBean> compile(Class<?> type, Class<?>[] groups, ConstraintOverrides overrides) {
+        CompiledBean bean = compiler.compile(type, groups, overrides);
+        log.info("제약조건 컴파일 type={}, groups={}, compiled={}", type.getSimpleName(), Arrays.toString(groups), bean != null);
+        return Optional.ofNullable(bean);
+    }
+
+    private static Class<?>[] groups(Object[] validationHints) {
+        List<Class<?>> groups = new ArrayList<>(validationHints.length);
+        for (Object hint : validationHints) {
+            if (hint instanceof Class && hint != FailFast.class) {
+                groups.add((Class<?>) hint);
+            }
+        }
+        return groups.isEmpty() ? DEFAULT_GROUPS : groups.toArray(new Class<?>[0]);
+    }
+
+    static class Compiled {
+
+        private final ConstraintOverrides overrides;
+        private final CrossFieldRules.Compiled rules;
+        private final Map<Class<?>, Optional<CompiledBean>> defaultGroupBeans = new ConcurrentHashMap<>();
+        private final Map<GroupKey, Optional<CompiledBean>> groupBeans = new ConcurrentHashMap<>();
+
+        Compiled(ConstraintOverrides overrides, CrossFieldRules.Compiled rules) {
+            this.overrides = overrides;
+            this.rules = rules;
+        }
+    }
+
+    private static class GroupKey {
+
+        private final Class<?> type;
+        private final Class<?>[] groups;
+
+        GroupKey(Class<?> type, Class<?>[] groups) {
+            this.type = type;
+            this.groups = groups;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) o;
+            return type == other.type && Arrays.equals(groups, other.groups);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + Arrays.hashCode(groups);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package hello.itemservice.validation;
+
+/**
+ * 컴파일된 제약조건 검사. null 처리도 각 제약조건의 Bean Validation 규칙을 따른다.
+ */
+@FunctionalInterface
+interface ConstraintCheck {
+
+    boolean isValid(Object value);
+
+}
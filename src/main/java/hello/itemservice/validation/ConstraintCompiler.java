@@ -0,0 +1,201 @@
+package hello.itemservice.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+
+import javax.validation.GroupSequence;
+import javax.validation.MessageInterpolator;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bean Validation 메타데이터를 한 번 읽어서 CompiledBean 으로 만든다.
+ * 지원하지 않는 제약조건(클래스 레벨, @Valid, EL 메시지 등)이 하나라도 있으면 null 을 반환하고,
+ * 그 타입은 Hibernate Validator 가 그대로 검증한다. 설정 파일로 바꾼 속성(ConstraintOverrides)도 컴파일한 타입에만 적용된다.
+ */
+@Slf4j
+class ConstraintCompiler {
+
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(
+            Integer.class, Long.class, Short.class, Byte.class,
+            int.class, long.class, short.class, byte.class);
+
+    private final Validator metadata;
+    private final MessageInterpolator interpolator;
+
+    ConstraintCompiler(Validator metadata, MessageInterpolator interpolator) {
+        this.metadata = metadata;
+        this.interpolator = interpolator;
+    }
+
+    CompiledBean compile(Class<?> type, Class<?>[] groups, ConstraintOverrides overrides) {
+        if (type.isAnnotationPresent(GroupSequence.class)) {
+            return null;
+        }
+        for (Class<?> group : groups) {
+            if (group.isAnnotationPresent(GroupSequence.class)) {
+                return null;
+            }
+        }
+
+        BeanDescriptor bean = metadata.getConstraintsForClass(type);
+        if (!bean.findConstraints().unorderedAndMatchingGroups(groups).getConstraintDescriptors().isEmpty()) {
+            return null;
+        }
+
+        List<CompiledProperty> properties = new ArrayList<>();
+        for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+                return null;
+            }
+            Set<ConstraintDescriptor<?>> descriptors =
+                    property.findConstraints().unorderedAndMatchingGroups(groups).getConstraintDescriptors();
+            if (descriptors.isEmpty()) {
+                continue;
+            }
+            CompiledProperty compiled = compileProperty(type, property, descriptors, overrides);
+            if (compiled == null) {
+                log.info("컴파일할 수 없는 제약조건 - Bean Validation 사용 type={}, property={}",
+                        type.getSimpleName(), property.getPropertyName());
+                return null;
+            }
+            properties.add(compiled);
+        }
+        return new CompiledBean(properties.toArray(new CompiledProperty[0]));
+    }
+
+    private CompiledProperty compileProperty(Class<?> type, PropertyDescriptor property,
+                                             Collection<ConstraintDescriptor<?>> descriptors,
+                                             ConstraintOverrides overrides) {
+        Function<Object, Object> getter = getter(type, property.getPropertyName());
+        if (getter == null) {
+            return null;
+        }
+        List<CompiledConstraint> constraints = new ArrayList<>();
+        for (ConstraintDescriptor<?> declared : descriptors) {
+            ConstraintDescriptor<?> descriptor = OverriddenDescriptor.apply(declared,
+                    overrides(type, property.getPropertyName(), declared, overrides));
+            if (descriptor.getMessageTemplate().contains("${")) {
+                return null;
+            }
+            ConstraintCheck check = check(descriptor, property.getElementClass());
+            if (check == null) {
+                return null;
+            }
+            constraints.add(new CompiledConstraint(property.getPropertyName(), descriptor, check, interpolator));
+        }
+        return new CompiledProperty(property.getPropertyName(), getter,
+                constraints.toArray(new CompiledConstraint[0]));
+    }
+
+    private static Map<String, String> overrides(Class<?> type, String property, ConstraintDescriptor<?> descriptor,
+                                                 ConstraintOverrides overrides) {
+        Class<? extends Annotation> annotationType = descriptor.getAnnotation().annotationType();
+        Map<String, String> result = new HashMap<>();
+        for (String name : descriptor.getAttributes().keySet()) {
+            String value = overrides.attribute(type, property, annotationType, name);
+            if (value != null) {
+                result.put(name, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 제약조건 하나를 값 검사 로직으로 바꾼다. 하나의 오류로 보고되는 합성 제약조건(@Range)은 구성 조건을 모두 만족해야 한다.
+     */
+    private ConstraintCheck check(ConstraintDescriptor<?> descriptor, Class<?> elementClass) {
+        Set<ConstraintDescriptor<?>> composing = descriptor.getComposingConstraints();
+        if (!composing.isEmpty()) {
+            if (!descriptor.isReportAsSingleViolation() || !descriptor.getConstraintValidatorClasses().isEmpty()) {
+                return null;
+            }
+            List<ConstraintCheck> checks = new ArrayList<>();
+            for (ConstraintDescriptor<?> part : composing) {
+                ConstraintCheck check = check(part, elementClass);
+                if (check == null) {
+                    return null;
+                }
+                checks.add(check);
+            }
+            ConstraintCheck[] parts = checks.toArray(new ConstraintCheck[0]);
+            return value -> {
+                for (ConstraintCheck part : parts) {
+                    if (!part.isValid(value)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        Class<? extends Annotation> annotationType = descriptor.getAnnotation().annotationType();
+        if (annotationType == NotNull.class) {
+            return value -> value != null;
+        }
+        if (annotationType == NotBlank.class && CharSequence.class.isAssignableFrom(elementClass)) {
+            return value -> value != null && value.toString().trim().length() > 0;
+        }
+        if (annotationType == NotEmpty.class && CharSequence.class.isAssignableFrom(elementClass)) {
+            return value -> value != null && ((CharSequence) value).length() > 0;
+        }
+        if (!INTEGRAL_TYPES.contains(elementClass)) {
+            return null;
+        }
+        if (annotationType == Max.class) {
+            long max = (Long) descriptor.getAttributes().get("value");
+            return value -> value == null || ((Number) value).longValue() <= max;
+        }
+        if (annotationType == Min.class) {
+            long min = (Long) descriptor.getAttributes().get("value");
+            return value -> value == null || ((Number) value).longValue() >= min;
+        }
+        return null;
+    }
+
+    /**
+     * getter 를 LambdaMetafactory 로 Function 으로 만든다. 검증할 때 리플렉션을 쓰지 않는다.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Class<?> type, String propertyName) {
+        java.beans.PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, propertyName);
+        Method readMethod = property == null ? null : property.getReadMethod();
+        if (readMethod == null) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(readMethod);
+            MethodType instantiated = handle.type().changeReturnType(handle.type().wrap().returnType());
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle, instantiated);
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.info("getter 를 만들 수 없음 type={}, property={}", type.getSimpleName(), propertyName, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package hello.itemservice.validation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * 검증 설정 파일(validation.constraints.file)이 바뀌면 다시 읽어서 CompiledValidator 와 CrossFieldRules 를 바꾼다.
+ * 새 검증기는 감시 스레드에서 모두 컴파일한 뒤 교체하므로 요청 스레드는 기다리거나 컴파일하지 않는다.
+ * 제약조건과 복합 룰은 CompiledValidator 의 Compiled 하나에 담아 한 번에 바꾼다.
+ * 파일을 지우면 어노테이션과 application.properties 의 값으로 돌아간다.
+ */
+@Slf4j
+public class ConstraintConfigWatcher {
+
+    //  편집기는 한 번 저장할 때 이벤트를 여러 개 만든다. 이 시간 동안 이벤트를 모아서 한 번만 읽는다.
+    private static final long SETTLE_MILLIS = 50;
+
+    private final Path file;
+    private final CompiledValidator validator;
+    private final CrossFieldRules crossFieldRules;
+    private final Map<String, ValidationRuleProperties.Rule> defaultRules;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConstraintConfigWatcher(Path file, CompiledValidator validator, CrossFieldRules crossFieldRules,
+                                   Map<String, ValidationRuleProperties.Rule> defaultRules) {
+        this.file = file.toAbsolutePath();
+        this.validator = validator;
+        this.crossFieldRules = crossFieldRules;
+        this.defaultRules = defaultRules;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        crossFieldRules.bind(validator);
+        reload();
+        Path directory = file.getParent();
+        if (!Files.isDirectory(directory)) {
+            log.warn("검증 설정 디렉토리가 없어서 감시하지 않음 directory={}", directory);
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        thread = new Thread(this::watch, "constraint-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * 파일을 읽어서 두 검증기를 모두 컴파일한 뒤에 교체한다. 하나라도 실패하면 둘 다 이전 설정을 유지한다.
+     * 숫자여야 하는 값(ItemValidator 의 가격 범위 등)은 파일을 읽을 때 확인한다. (ConstraintOverrides)
+     */
+    public synchronized boolean reload() {
+        try {
+            ConstraintOverrides overrides = Files.exists(file) ? ConstraintOverrides.load(file) : ConstraintOverrides.NONE;
+            CrossFieldRules.Compiled rules = crossFieldRules.prepare(overrides.rules(defaultRules));
+            validator.apply(validator.prepare(overrides, rules));
+            log.info("검증 설정 적용 file={}, exists={}", file, Files.exists(file));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("검증 설정을 적용하지 못함 - 이전 설정 유지 file={}", file, e);
+            return false;
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = changed(key);
+                //  나머지 이벤트를 모은다.
+                WatchKey more;
+                while ((more = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= changed(more);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.debug("검증 설정 감시 종료");
+        }
+    }
+
+    private boolean changed(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,124 @@
+package hello.itemservice.validation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 재시작 없이 바꿀 수 있는 검증 설정 파일의 내용. 만든 뒤에는 바뀌지 않는다.
+ * <pre>
+ * # [타입].[필드].[제약조건].[속성] - 어노테이션에 적은 값을 덮어쓴다.
+ * ItemSaveForm.price.Range.max=20000000
+ * # rules.[오류 코드].condition / arguments - application.properties 의 복합 룰을 덮어쓴다.
+ * rules.totalPriceMin.condition=price * quantity >= 20000
+ * rules.totalPriceMin.arguments=20000, price * quantity
+ * </pre>
+ * 어노테이션이 아니라 코드(ItemValidator)에서 읽는 값은 여기서 숫자로 바꿔 둔다. 숫자가 아니면 파일 전체를 거절한다.
+ */
+public class ConstraintOverrides {
+
+    public static final ConstraintOverrides NONE = new ConstraintOverrides(new Properties());
+
+    //  ItemValidator 의 가격 범위, 최대 수량 (Item 의 어노테이션은 주석 처리되어 있어서 컴파일할 때 확인되지 않는다)
+    public static final String ITEM_PRICE_MIN = "Item.price.Range.min";
+    public static final String ITEM_PRICE_MAX = "Item.price.Range.max";
+    public static final String ITEM_QUANTITY_MAX = "Item.quantity.Max.value";
+
+    private static final String RULES = "rules.";
+    private static final Set<String> LONG_ATTRIBUTES = Set.of(ITEM_PRICE_MIN, ITEM_PRICE_MAX, ITEM_QUANTITY_MAX);
+
+    private final Map<String, String> attributes = new HashMap<>();
+    private final Map<String, Long> longs = new HashMap<>();
+    private final Map<String, ValidationRuleProperties.Rule> rules = new LinkedHashMap<>();
+
+    public ConstraintOverrides(Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (!key.startsWith(RULES)) {
+                attributes.put(key, value);
+                if (LONG_ATTRIBUTES.contains(key)) {
+                    longs.put(key, parseLong(key, value));
+                }
+                continue;
+            }
+            String name = key.substring(RULES.length());
+            int separator = name.lastIndexOf('.');
+            if (separator < 0) {
+                throw new IllegalArgumentException("복합 룰 설정은 rules.[오류 코드].condition 형식이어야 함: " + key);
+            }
+            ValidationRuleProperties.Rule rule =
+                    rules.computeIfAbsent(name.substring(0, separator), code -> new ValidationRuleProperties.Rule());
+            switch (name.substring(separator + 1)) {
+                case "condition":
+                    rule.setCondition(value);
+                    break;
+                case "arguments":
+                    for (String argument : value.split(",")) {
+                        rule.getArguments().add(argument.trim());
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("알 수 없는 복합 룰 설정: " + key);
+            }
+        }
+    }
+
+    public static ConstraintOverrides load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new ConstraintOverrides(properties);
+    }
+
+    /**
+     * 덮어쓴 속성 값. 없으면 null
+     */
+    String attribute(Class<?> type, String property, Class<? extends Annotation> annotationType, String name) {
+        if (attributes.isEmpty()) {
+            return null;
+        }
+        return attributes.get(type.getSimpleName() + "." + property + "." + annotationType.getSimpleName() + "." + name);
+    }
+
+    /**
+     * ITEM_PRICE_MIN 등 숫자 값. 없으면 defaultValue
+     */
+    public long getLong(String key, long defaultValue) {
+        Long value = longs.get(key);
+        if (value != null) {
+            return value;
+        }
+        String raw = attributes.get(key);
+        return raw == null ? defaultValue : parseLong(key, raw);
+    }
+
+    private static long parseLong(String key, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("숫자가 아님: " + key + "=" + value, e);
+        }
+    }
+
+    /**
+     * 기본 룰(application.properties)에 파일의 룰을 오류 코드 단위로 덮어쓴 결과
+     */
+    public Map<String, ValidationRuleProperties.Rule> rules(Map<String, ValidationRuleProperties.Rule> defaults) {
+        if (rules.isEmpty()) {
+            return defaults;
+        }
+        Map<String, ValidationRuleProperties.Rule> merged = new LinkedHashMap<>(defaults);
+        merged.putAll(rules);
+        return Collections.unmodifiableMap(merged);
+    }
+}
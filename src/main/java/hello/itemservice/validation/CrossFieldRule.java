@@ -0,0 +1,61 @@
+package hello.itemservice.validation;
+
+import org.springframework.validation.Errors;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 한 타입에 대해 컴파일된 복합 룰. 조건이 false 면 errors.reject(code, arguments) 한다.
+ */
+class CrossFieldRule {
+
+    private final String code;
+    private final Function<Object, Object>[] referenced;
+    private final Predicate<Object> condition;
+    private final ToLongFunction<Object>[] arguments;
+
+    CrossFieldRule(String code, Function<Object, Object>[] referenced,
+                   Predicate<Object> condition, ToLongFunction<Object>[] arguments) {
+        this.code = code;
+        this.referenced = referenced;
+        this.condition = condition;
+        this.arguments = arguments;
+    }
+
+    String getCode() {
+        return code;
+    }
+
+    /**
+     * @return 룰을 만족하거나 검사하지 않았으면 true
+     */
+    boolean validate(Object target, Errors errors) {
+        //  필드 값이 없으면 필드 검증(@NotNull 등)의 몫이다.
+        for (Function<Object, Object> getter : referenced) {
+            if (getter.apply(target) == null) {
+                return true;
+            }
+        }
+        if (!condition.test(target)) {
+            errors.reject(code, arguments(target), null);
+            return false;
+        }
+        return true;
+    }
+
+    //  메시지 인자는 손으로 작성한 검사와 같게 int 범위면 Integer 로 넘긴다.
+    private Object[] arguments(Object target) {
+        Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            long value = arguments[i].applyAsLong(target);
+            if (value == (int) value) {
+                values[i] = (int) value;
+            } else {
+                values[i] = value;
+            }
+        }
+        return values;
+    }
+}
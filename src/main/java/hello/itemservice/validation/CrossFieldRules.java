@@ -0,0 +1,191 @@
+package hello.itemservice.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.validation.Errors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 설정으로 정의한 복합 룰(특정 필드가 아닌 룰)을 검사해서 BindingResult.reject 로 오류를 남긴다.
+ * 식은 생성할 때 한 번 파싱하고, 타입마다 한 번 람다로 컴파일한다. 검증할 때는 식을 해석하지 않는다.
+ * 룰이 참조하는 필드가 없는 타입에는 그 룰을 적용하지 않는다.
+ * 다만 검증하는 타입 중 어디에도 적용되지 않는 룰(필드 이름 오타 등)은 시작할 때(다시 읽을 때) 예외로 거절한다.
+ */
+@Slf4j
+public class CrossFieldRules {
+
+    private static final CrossFieldRule[] NO_RULES = new CrossFieldRule[0];
+
+    //  application.properties 의 룰
+    private final Compiled compiled;
+    //  검증 설정 파일을 감시하면 다시 읽은 룰은 CompiledValidator 의 제약조건과 같은 객체에 담겨 한 번에 바뀐다.
+    //  그러므로 바뀐 제약조건과 이전 룰이 섞여 보이지 않는다.
+    private volatile CompiledValidator boundTo;
+
+    public CrossFieldRules(Map<String, ValidationRuleProperties.Rule> rules, Collection<Class<?>> types) {
+        Compiled initial = new Compiled(rules);
+        for (Class<?> type : types) {
+            initial.rules(type);
+        }
+        initial.requireApplied();
+        this.compiled = initial;
+    }
+
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, false);
+    }
+
+    /**
+     * failFast 면 이미 오류가 있을 때 검사하지 않고, 첫 번째 룰 오류에서 멈춘다.
+     */
+    public void validate(Object target, Errors errors, boolean failFast) {
+        if (failFast && errors.hasErrors()) {
+            return;
+        }
+        for (CrossFieldRule rule : current().rules(target.getClass())) {
+            if (!rule.validate(target, errors) && failFast) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 새 룰을 파싱하고 지금까지 검증한 타입에 대해 모두 컴파일해 둔다.
+     * 식이 잘못되었거나 어느 타입에도 적용되지 않는 룰이 있으면 예외가 나고 기존 룰을 계속 사용한다.
+     */
+    Compiled prepare(Map<String, ValidationRuleProperties.Rule> rules) {
+        Compiled previous = current();
+        Compiled next = new Compiled(rules);
+        for (Class<?> type : previous.compiled.keySet()) {
+            next.rules(type);
+        }
+        next.requireApplied();
+        return next;
+    }
+
+    /**
+     * 이후로는 validator 에 담긴 룰(CompiledValidator.prepare(overrides, rules))을 사용한다.
+     */
+    void bind(CompiledValidator validator) {
+        boundTo = validator;
+    }
+
+    private Compiled current() {
+        CompiledValidator validator = boundTo;
+        if (validator != null) {
+            Compiled rules = validator.getRules();
+            if (rules != null) {
+                return rules;
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * 타입에 적용되는 룰의 파싱된 식 (클라이언트 검증 규칙을 만들 때 사용)
+     */
+    Map<String, ParsedRule> parsedRules(Class<?> type) {
+        Compiled current = current();
+        Map<String, ParsedRule> result = new LinkedHashMap<>();
+        for (CrossFieldRule rule : current.rules(type)) {
+            result.put(rule.getCode(), current.parsed.get(rule.getCode()));
+        }
+        return result;
+    }
+
+    static class Compiled {
+
+        private final Map<String, ParsedRule> parsed = new LinkedHashMap<>();
+        private final Map<Class<?>, CrossFieldRule[]> compiled = new ConcurrentHashMap<>();
+
+        Compiled(Map<String, ValidationRuleProperties.Rule> rules) {
+            rules.forEach((code, rule) -> parsed.put(code, new ParsedRule(rule)));
+        }
+
+        private CrossFieldRule[] rules(Class<?> type) {
+            CrossFieldRule[] rules = compiled.get(type);
+            if (rules == null) {
+                rules = compiled.computeIfAbsent(type, this::compile);
+            }
+            return rules;
+        }
+
+        @SuppressWarnings("unchecked")
+        private CrossFieldRule[] compile(Class<?> type) {
+            List<CrossFieldRule> rules = new ArrayList<>();
+            parsed.forEach((code, rule) -> {
+                RuleCompiler compiler = new RuleCompiler(type);
+                Predicate<Object> condition = compiler.condition(rule.condition);
+                List<ToLongFunction<Object>> arguments = new ArrayList<>();
+                for (SpelNode argument : rule.arguments) {
+                    arguments.add(compiler.number(argument));
+                }
+                if (condition == null || arguments.contains(null)) {
+                    return;
+                }
+                rules.add(new CrossFieldRule(code,
+                        (Function<Object, Object>[]) compiler.getReferenced().toArray(new Function<?, ?>[0]),
+                        condition, (ToLongFunction<Object>[]) arguments.toArray(new ToLongFunction<?>[0])));
+            });
+            log.info("복합 룰 컴파일 type={}, rules={}", type.getSimpleName(), rules.size());
+            return rules.isEmpty() ? NO_RULES : rules.toArray(NO_RULES);
+        }
+
+        /**
+         * 룰마다 적용되는 타입이 하나는 있어야 한다. 없으면 설정의 필드 이름이 틀린 것이므로 조용히 빠뜨리지 않는다.
+         * 아직 검증한 타입이 없으면(타입을 처음 검증할 때 컴파일) 확인하지 않는다.
+         */
+        private void requireApplied() {
+            if (compiled.isEmpty()) {
+                return;
+            }
+            for (String code : parsed.keySet()) {
+                boolean applied = compiled.values().stream()
+                        .flatMap(Arrays::stream)
+                        .anyMatch(rule -> rule.getCode().equals(code));
+                if (!applied) {
+                    List<String> types = compiled.keySet().stream()
+                            .map(Class::getSimpleName)
+                            .sorted()
+                            .collect(Collectors.toList());
+                    throw new IllegalArgumentException("적용되는 타입이 없는 복합 룰: " + code + " (types=" + types + ")");
+                }
+            }
+        }
+    }
+
+    static class ParsedRule {
+
+        private final SpelNode condition;
+        private final List<SpelNode> arguments = new ArrayList<>();
+
+        ParsedRule(ValidationRuleProperties.Rule rule) {
+            if (rule.getCondition() == null) {
+                throw new IllegalArgumentException("조건식이 없음");
+            }
+            this.condition = RuleCompiler.parse(rule.getCondition());
+            for (String argument : rule.getArguments()) {
+                arguments.add(RuleCompiler.parse(argument));
+            }
+        }
+
+        SpelNode getCondition() {
+            return condition;
+        }
+
+        List<SpelNode> getArguments() {
+            return arguments;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package hello.itemservice.validation;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.Errors;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 인자가 고정된 오류 하나 - 필드, 오류 코드, 인자 배열, Locale 별 기본 메시지.
+ * 검증기가 미리 만들어 두고 reject 할 때마다 같은 인스턴스를 쓰므로, 실패할 때 인자 배열을 새로 만들지 않는다.
+ * 인자가 같으면 풀어낸 메시지도 같으므로 (objectName, Locale) 별로 한 번만 찾아서 보관한다. (ApiErrorConverter)
+ * objectName 별로 MAX_LOCALES 개의 Locale 까지만 보관하고, 그 밖의 Locale 은 매번 찾는다.
+ *
+ * 인자 배열은 공유되므로 수정하면 안 된다. 검증 설정이 바뀌면 검증기가 새 ErrorDescriptor 를 만든다.
+ */
+public final class ErrorDescriptor {
+
+    private static final Function<Locale, String> NO_DEFAULT_MESSAGE = locale -> null;
+    //  지원 Locale(message.supported-locales)과 서버 기본 Locale 이 들어갈 만큼
+    static final int MAX_LOCALES = 8;
+
+    //  글로벌 오류는 null
+    private final String field;
+    private final String code;
+    private final Object[] arguments;
+    private final Function<Locale, String> defaultMessages;
+    //  objectName -> Locale -> 메시지. 조회할 때 키 객체를 만들지 않도록 나눠 둔다.
+    private final Map<String, Map<Locale, Optional<String>>> messages = new ConcurrentHashMap<>();
+
+    public ErrorDescriptor(String field, String code, Object... arguments) {
+        this(field, code, arguments, NO_DEFAULT_MESSAGE);
+    }
+
+    /**
+     * @param defaultMessages Locale 별 기본 메시지 - 호출하는 쪽이 Locale 별로 캐시한 값을 돌려줘야 한다.
+     */
+    public ErrorDescriptor(String field, String code, Object[] arguments, Function<Locale, String> defaultMessages) {
+        this.field = field;
+        this.code = code;
+        this.arguments = arguments;
+        this.defaultMessages = defaultMessages;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    public String getDefaultMessage(Locale locale) {
+        return defaultMessages.apply(locale);
+    }
+
+    /**
+     * LazyErrors 면 이 인스턴스를 참조로만 기록하고, 아니면 공유 인자 배열로 rejectValue/reject 한다.
+     */
+    public void reject(Errors errors, Object rejectedValue) {
+        if (errors instanceof LazyErrors) {
+            ((LazyErrors) errors).reject(this, rejectedValue);
+            return;
+        }
+        String defaultMessage = getDefaultMessage(LocaleContextHolder.getLocale());
+        if (field == null) {
+            errors.reject(code, arguments, defaultMessage);
+        } else {
+            errors.rejectValue(field, code, arguments, defaultMessage);
+        }
+    }
+
+    /**
+     * 풀어낸 메시지 - 처음 한 번만 resolver 로 찾는다. 메시지가 없으면(null) 그것도 보관한다.
+     */
+    public String message(String objectName, Locale locale, Supplier<String> resolver) {
+        Map<Locale, Optional<String>> byLocale = messages.get(objectName);
+        if (byLocale == null) {
+            byLocale = messages.computeIfAbsent(objectName, key -> new ConcurrentHashMap<>());
+        }
+        Optional<String> message = byLocale.get(locale);
+        if (message == null) {
+            message = Optional.ofNullable(resolver.get());
+            if (byLocale.size() < MAX_LOCALES) {
+                byLocale.putIfAbsent(locale, message);
+            }
+        }
+        return message.orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        return field == null ? code : field + "." + code;
+    }
+}
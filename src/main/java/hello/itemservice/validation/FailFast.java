@@ -0,0 +1,9 @@
+package hello.itemservice.validation;
+
+/**
+ * 검증 힌트. @Validated(FailFast.class), @Validated({SaveCheck.class, FailFast.class}) 처럼 넘기면
+ * 첫 번째 오류에서 검증을 멈춘다. 유효한지 여부만 필요한 요청에서 나머지 제약조건 검사와 오류 생성을 건너뛴다.
+ * 그룹이 아니므로 검증 그룹 목록에서는 빠진다.
+ */
+public interface FailFast {
+}
@@ -0,0 +1,297 @@
+package hello.itemservice.validation;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.AbstractErrors;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 오류를 (필드, 코드, 인자 배열 참조, 기본 메시지, 거부된 값) 으로만 기록하는 가벼운 Errors.
+ * BeanPropertyBindingResult 는 reject/rejectValue 마다 오류 코드 배열(range.itemSaveForm.price ~ range)과
+ * FieldError 를 만들지만, 여기서는 오류를 읽을 때(메시지 조회, getFieldErrors ...) 만든다.
+ * 오류 수만 필요한 경우(hasErrors, getErrorCount)는 코드도 FieldError 도 만들지 않는다.
+ *
+ * 인자 배열은 복사하지 않고 그대로 참조하므로 reject 한 뒤에 수정하면 안 된다.
+ * 데이터 바인딩을 하지 않는 검증(API 등록)용이다. 화면은 Spring 의 BindingResult 가 필요하므로 쓰지 않는다.
+ */
+public class LazyErrors extends AbstractErrors {
+
+    private static final long serialVersionUID = 1L;
+
+    //  거부된 값을 아직 읽지 않았다. (rejectValue(field, code, ...) 는 값을 받지 않는다)
+    private static final Object UNREAD = new Object();
+
+    private final Object target;
+    private final String objectName;
+    private final MessageCodesResolver codesResolver;
+    private final List<LazyError> errors = new ArrayList<>(4);
+    //  addAllErrors 로 데이터 바인딩 오류를 옮겨왔는지
+    private boolean bindingFailures;
+    private transient BeanWrapper beanWrapper;
+
+    public LazyErrors(Object target, String objectName, MessageCodesResolver codesResolver) {
+        this.target = target;
+        this.objectName = objectName;
+        this.codesResolver = codesResolver;
+    }
+
+    @Override
+    public String getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public void reject(String errorCode, Object[] errorArgs, String defaultMessage) {
+        errors.add(new LazyError(this, null, errorCode, errorArgs, defaultMessage, null, null));
+    }
+
+    @Override
+    public void rejectValue(String field, String errorCode, Object[] errorArgs, String defaultMessage) {
+        if (field == null || field.isEmpty()) {
+            reject(errorCode, errorArgs, defaultMessage);
+            return;
+        }
+        errors.add(new LazyError(this, fixedField(field), errorCode, errorArgs, defaultMessage, UNREAD, null));
+    }
+
+    /**
+     * 검증하면서 이미 읽은 값이 있으면 getter 를 다시 부르지 않는다.
+     */
+    public void rejectValue(String field, String errorCode, Object[] errorArgs, String defaultMessage,
+                            Object rejectedValue) {
+        errors.add(new LazyError(this, fixedField(field), errorCode, errorArgs, defaultMessage, rejectedValue, null));
+    }
+
+    /**
+     * 미리 만든 오류를 참조로만 기록한다. 인자 배열과 풀어낸 메시지를 ErrorDescriptor 와 공유한다.
+     * 중첩 경로 아래에서는 오류 코드가 달라지므로 공유하지 않고 일반 오류로 기록한다.
+     */
+    public void reject(ErrorDescriptor descriptor, Object rejectedValue) {
+        String defaultMessage = descriptor.getDefaultMessage(LocaleContextHolder.getLocale());
+        boolean shared = getNestedPath().isEmpty();
+        String field = descriptor.getField();
+        if (field != null && !shared) {
+            field = fixedField(field);
+        }
+        errors.add(new LazyError(this, field, descriptor.getCode(), descriptor.getArguments(), defaultMessage,
+                field == null ? null : rejectedValue, shared ? descriptor : null));
+    }
+
+    @Override
+    public void addAllErrors(Errors errors) {
+        if (!errors.getObjectName().equals(objectName)) {
+            throw new IllegalArgumentException("Errors object needs to have same object name");
+        }
+        for (ObjectError error : errors.getAllErrors()) {
+            this.errors.add(new LazyError(this, error));
+            if (error instanceof FieldError && ((FieldError) error).isBindingFailure()) {
+                bindingFailures = true;
+            }
+        }
+    }
+
+    /**
+     * 기록한 순서의 오류 - 코드/메시지가 필요할 때 각 오류가 MessageSourceResolvable 로 코드를 만든다.
+     */
+    public List<LazyError> getLazyErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    @Override
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    @Override
+    public boolean hasFieldErrors(String field) {
+        if (field.endsWith("*")) {
+            return super.hasFieldErrors(field);
+        }
+        String fixedField = fixedField(field);
+        for (LazyError error : errors) {
+            if (fixedField.equals(error.field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 데이터 바인딩 오류(typeMismatch)가 있는 필드 - addAllErrors 로 옮겨온 오류에만 있다.
+     */
+    public boolean isBindingFailure(String field) {
+        if (!bindingFailures) {
+            return false;
+        }
+        String fixedField = fixedField(field);
+        for (LazyError error : errors) {
+            if (fixedField.equals(error.field) && error.materialized instanceof FieldError
+                    && ((FieldError) error.materialized).isBindingFailure()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //  BeanPropertyBindingResult 와 같이 기록한 순서로 돌려준다. (AbstractErrors 는 글로벌 오류를 먼저 둔다)
+    @Override
+    public List<ObjectError> getAllErrors() {
+        List<ObjectError> result = new ArrayList<>(errors.size());
+        for (LazyError error : errors) {
+            result.add(error.toObjectError());
+        }
+        return result;
+    }
+
+    @Override
+    public List<ObjectError> getGlobalErrors() {
+        List<ObjectError> result = new ArrayList<>();
+        for (LazyError error : errors) {
+            if (error.field == null) {
+                result.add(error.toObjectError());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<FieldError> getFieldErrors() {
+        List<FieldError> result = new ArrayList<>();
+        for (LazyError error : errors) {
+            if (error.field != null) {
+                result.add((FieldError) error.toObjectError());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Object getFieldValue(String field) {
+        return beanWrapper().getPropertyValue(fixedField(field));
+    }
+
+    @Override
+    public Class<?> getFieldType(String field) {
+        return fieldType(fixedField(field));
+    }
+
+    //  단순 필드는 캐시된 PropertyDescriptor 로 찾고, 중첩 경로만 BeanWrapper 를 만든다.
+    private Class<?> fieldType(String fixedField) {
+        if (fixedField.indexOf('.') < 0 && fixedField.indexOf('[') < 0) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(target.getClass(), fixedField);
+            return descriptor != null ? descriptor.getPropertyType() : null;
+        }
+        return beanWrapper().getPropertyType(fixedField);
+    }
+
+    private BeanWrapper beanWrapper() {
+        if (beanWrapper == null) {
+            beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(target);
+        }
+        return beanWrapper;
+    }
+
+    /**
+     * 기록한 오류 하나. 코드와 ObjectError 는 처음 읽을 때 만든다.
+     */
+    public static final class LazyError implements MessageSourceResolvable {
+
+        private final LazyErrors owner;
+        //  글로벌 오류는 null
+        private final String field;
+        private final String code;
+        private final Object[] arguments;
+        private final String defaultMessage;
+        //  미리 만든 오류로 기록했으면 그 ErrorDescriptor
+        private final ErrorDescriptor descriptor;
+        private Object rejectedValue;
+        private String[] codes;
+        private ObjectError materialized;
+
+        private LazyError(LazyErrors owner, String field, String code, Object[] arguments, String defaultMessage,
+                          Object rejectedValue, ErrorDescriptor descriptor) {
+            this.owner = owner;
+            this.field = field;
+            this.code = code;
+            this.arguments = arguments;
+            this.defaultMessage = defaultMessage;
+            this.rejectedValue = rejectedValue;
+            this.descriptor = descriptor;
+        }
+
+        private LazyError(LazyErrors owner, ObjectError error) {
+            this(owner, error instanceof FieldError ? ((FieldError) error).getField() : null, error.getCode(),
+                    error.getArguments(), error.getDefaultMessage(),
+                    error instanceof FieldError ? ((FieldError) error).getRejectedValue() : null, null);
+            this.codes = error.getCodes();
+            this.materialized = error;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * ErrorDescriptor 로 기록하지 않았으면 null
+         */
+        public ErrorDescriptor getDescriptor() {
+            return descriptor;
+        }
+
+        public Object getRejectedValue() {
+            if (rejectedValue == UNREAD) {
+                rejectedValue = owner.beanWrapper().getPropertyValue(field);
+            }
+            return rejectedValue;
+        }
+
+        @Override
+        public String[] getCodes() {
+            if (codes == null) {
+                codes = field == null
+                        ? owner.codesResolver.resolveMessageCodes(code, owner.objectName)
+                        : owner.codesResolver.resolveMessageCodes(code, owner.objectName, field, owner.fieldType(field));
+            }
+            return codes;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return arguments;
+        }
+
+        @Override
+        public String getDefaultMessage() {
+            return defaultMessage;
+        }
+
+        ObjectError toObjectError() {
+            if (materialized == null) {
+                materialized = field == null
+                        ? new ObjectError(owner.objectName, getCodes(), arguments, defaultMessage)
+                        : new FieldError(owner.objectName, field, getRejectedValue(), false, getCodes(), arguments, defaultMessage);
+            }
+            return materialized;
+        }
+    }
+}
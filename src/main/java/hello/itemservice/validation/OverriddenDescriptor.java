@@ -0,0 +1,154 @@
+package hello.itemservice.validation;
+
+import javax.validation.ConstraintTarget;
+import javax.validation.ConstraintValidator;
+import javax.validation.OverridesAttribute;
+import javax.validation.Payload;
+import javax.validation.ValidationException;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.ValidateUnwrappedValue;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 속성 일부를 설정 파일 값으로 바꾼 제약조건.
+ * 검사 로직, 오류 인자, 메시지({min}, {max} ...)는 모두 getAttributes() 를 읽으므로 바꾼 값이 그대로 쓰인다.
+ * 합성 제약조건(@Range)은 @OverridesAttribute 를 따라 구성 제약조건(@Min, @Max)의 속성도 바꾼다.
+ */
+class OverriddenDescriptor<T extends Annotation> implements ConstraintDescriptor<T> {
+
+    private final ConstraintDescriptor<T> delegate;
+    private final Map<String, Object> attributes;
+    private final String messageTemplate;
+    private final Set<ConstraintDescriptor<?>> composingConstraints;
+
+    private OverriddenDescriptor(ConstraintDescriptor<T> delegate, Map<String, Object> overrides) {
+        this.delegate = delegate;
+        Map<String, Object> attributes = new HashMap<>(delegate.getAttributes());
+        attributes.putAll(overrides);
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.messageTemplate = overrides.containsKey("message")
+                ? (String) overrides.get("message") : delegate.getMessageTemplate();
+
+        Set<ConstraintDescriptor<?>> composing = new LinkedHashSet<>();
+        for (ConstraintDescriptor<?> part : delegate.getComposingConstraints()) {
+            composing.add(apply(part, composingOverrides(part, overrides)));
+        }
+        this.composingConstraints = Collections.unmodifiableSet(composing);
+    }
+
+    /**
+     * 이름이 같은 속성의 값을 원래 타입으로 바꿔서 덮어쓴다. 바꿀 속성이 없으면 원래 제약조건을 그대로 반환한다.
+     */
+    static <A extends Annotation> ConstraintDescriptor<A> apply(ConstraintDescriptor<A> descriptor,
+                                                               Map<String, String> overrides) {
+        if (overrides.isEmpty()) {
+            return descriptor;
+        }
+        Map<String, Object> converted = new HashMap<>();
+        overrides.forEach((name, value) -> converted.put(name, convert(descriptor, name, value)));
+        return new OverriddenDescriptor<>(descriptor, converted);
+    }
+
+    private static Object convert(ConstraintDescriptor<?> descriptor, String name, String value) {
+        Object original = descriptor.getAttributes().get(name);
+        if (original == null) {
+            throw new IllegalArgumentException("속성이 없음: @" + descriptor.getAnnotation().annotationType().getSimpleName()
+                    + "." + name);
+        }
+        if (original instanceof Long) {
+            return Long.valueOf(value);
+        }
+        if (original instanceof Integer) {
+            return Integer.valueOf(value);
+        }
+        if (original instanceof Boolean) {
+            return Boolean.valueOf(value);
+        }
+        if (original instanceof String) {
+            return value;
+        }
+        throw new IllegalArgumentException("바꿀 수 없는 속성 타입: @" + descriptor.getAnnotation().annotationType().getSimpleName()
+                + "." + name + " (" + original.getClass().getSimpleName() + ")");
+    }
+
+    private Map<String, String> composingOverrides(ConstraintDescriptor<?> part, Map<String, Object> overrides) {
+        Map<String, String> result = new HashMap<>();
+        for (Method method : delegate.getAnnotation().annotationType().getDeclaredMethods()) {
+            Object value = overrides.get(method.getName());
+            if (value == null) {
+                continue;
+            }
+            for (OverridesAttribute override : method.getAnnotationsByType(OverridesAttribute.class)) {
+                if (override.constraint() == part.getAnnotation().annotationType()) {
+                    result.put(override.name(), value.toString());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public T getAnnotation() {
+        return delegate.getAnnotation();
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    @Override
+    public Set<Class<?>> getGroups() {
+        return delegate.getGroups();
+    }
+
+    @Override
+    public Set<Class<? extends Payload>> getPayload() {
+        return delegate.getPayload();
+    }
+
+    @Override
+    public ConstraintTarget getValidationAppliesTo() {
+        return delegate.getValidationAppliesTo();
+    }
+
+    @Override
+    public List<Class<? extends ConstraintValidator<T, ?>>> getConstraintValidatorClasses() {
+        return delegate.getConstraintValidatorClasses();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Set<ConstraintDescriptor<?>> getComposingConstraints() {
+        return composingConstraints;
+    }
+
+    @Override
+    public boolean isReportAsSingleViolation() {
+        return delegate.isReportAsSingleViolation();
+    }
+
+    @Override
+    public ValidateUnwrappedValue getValueUnwrapping() {
+        return delegate.getValueUnwrapping();
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new ValidationException("Type " + type + " not supported for unwrapping.");
+    }
+}
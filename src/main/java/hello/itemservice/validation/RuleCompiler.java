@@ -0,0 +1,215 @@
+package hello.itemservice.validation;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.IntLiteral;
+import org.springframework.expression.spel.ast.Literal;
+import org.springframework.expression.spel.ast.LongLiteral;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpEQ;
+import org.springframework.expression.spel.ast.OpGE;
+import org.springframework.expression.spel.ast.OpGT;
+import org.springframework.expression.spel.ast.OpLE;
+import org.springframework.expression.spel.ast.OpLT;
+import org.springframework.expression.spel.ast.OpMinus;
+import org.springframework.expression.spel.ast.OpMultiply;
+import org.springframework.expression.spel.ast.OpNE;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.OpPlus;
+import org.springframework.expression.spel.ast.Operator;
+import org.springframework.expression.spel.ast.OperatorNot;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 복합 룰 식(SpEL 문법의 부분집합)을 한 번 파싱해 두고, 타입마다 getter 를 묶은 람다 트리로 만든다.
+ * 검증할 때는 식을 해석하지 않고 람다만 호출한다.
+ * 지원하는 식: 숫자 필드, 정수 리터럴, + - *, 비교(== != < <= > >=), and, or, !
+ */
+class RuleCompiler {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+
+    /**
+     * 문법 오류나 지원하지 않는 연산은 시작할 때 바로 실패하도록 여기서 확인한다.
+     */
+    static SpelNode parse(String expression) {
+        SpelNode node = PARSER.parseRaw(expression).getAST();
+        check(node, expression);
+        return node;
+    }
+
+    private static void check(SpelNode node, String expression) {
+        if (!(node instanceof IntLiteral || node instanceof LongLiteral || node instanceof PropertyOrFieldReference
+                || node instanceof OpPlus || node instanceof OpMinus || node instanceof OpMultiply
+                || node instanceof OpEQ || node instanceof OpNE || node instanceof OpLT || node instanceof OpLE
+                || node instanceof OpGT || node instanceof OpGE
+                || node instanceof OpAnd || node instanceof OpOr || node instanceof OperatorNot)) {
+            throw new IllegalArgumentException("지원하지 않는 식: " + node.toStringAST() + " (" + expression + ")");
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            check(node.getChild(i), expression);
+        }
+    }
+
+    /**
+     * 식을 JSON 으로 보낼 수 있는 트리로 바꾼다. (클라이언트 검증용)
+     * 숫자는 {"value": 10000}, 필드는 {"field": "price"}, 연산은 {"op": "*", "args": [...]}
+     */
+    static Map<String, Object> describe(SpelNode node) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (node instanceof IntLiteral || node instanceof LongLiteral) {
+            result.put("value", ((Literal) node).getLiteralValue().getValue());
+            return result;
+        }
+        if (node instanceof PropertyOrFieldReference) {
+            result.put("field", ((PropertyOrFieldReference) node).getName());
+            return result;
+        }
+        List<Map<String, Object>> args = new ArrayList<>();
+        for (int i = 0; i < node.getChildCount(); i++) {
+            args.add(describe(node.getChild(i)));
+        }
+        result.put("op", operator(node));
+        result.put("args", args);
+        return result;
+    }
+
+    static void referencedFields(SpelNode node, Set<String> fields) {
+        if (node instanceof PropertyOrFieldReference) {
+            fields.add(((PropertyOrFieldReference) node).getName());
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            referencedFields(node.getChild(i), fields);
+        }
+    }
+
+    //  + - * == != < <= > >= and or
+    private static String operator(SpelNode node) {
+        return node instanceof OperatorNot ? "!" : ((Operator) node).getOperatorName();
+    }
+
+    private final Class<?> type;
+    private final Map<String, Function<Object, Object>> referenced = new LinkedHashMap<>();
+
+    RuleCompiler(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * 식에서 참조한 필드의 getter. 하나라도 null 이면 룰을 검사하지 않는다.
+     */
+    Collection<Function<Object, Object>> getReferenced() {
+        return referenced.values();
+    }
+
+    /**
+     * 타입에 없는 필드를 참조하면 null - 그 타입에는 적용하지 않는 룰이다.
+     */
+    Predicate<Object> condition(SpelNode node) {
+        if (node instanceof OpAnd) {
+            Predicate<Object> left = condition(node.getChild(0));
+            Predicate<Object> right = condition(node.getChild(1));
+            return left == null || right == null ? null : target -> left.test(target) && right.test(target);
+        }
+        if (node instanceof OpOr) {
+            Predicate<Object> left = condition(node.getChild(0));
+            Predicate<Object> right = condition(node.getChild(1));
+            return left == null || right == null ? null : target -> left.test(target) || right.test(target);
+        }
+        if (node instanceof OperatorNot) {
+            Predicate<Object> operand = condition(node.getChild(0));
+            return operand == null ? null : target -> !operand.test(target);
+        }
+        ToLongFunction<Object> left = node.getChildCount() == 2 ? number(node.getChild(0)) : null;
+        ToLongFunction<Object> right = node.getChildCount() == 2 ? number(node.getChild(1)) : null;
+        if (left == null || right == null) {
+            if (node instanceof OpEQ || node instanceof OpNE || node instanceof OpLT || node instanceof OpLE
+                    || node instanceof OpGT || node instanceof OpGE) {
+                return null;
+            }
+            throw new IllegalArgumentException("조건식이 아님: " + node.toStringAST());
+        }
+        if (node instanceof OpEQ) {
+            return target -> left.applyAsLong(target) == right.applyAsLong(target);
+        }
+        if (node instanceof OpNE) {
+            return target -> left.applyAsLong(target) != right.applyAsLong(target);
+        }
+        if (node instanceof OpLT) {
+            return target -> left.applyAsLong(target) < right.applyAsLong(target);
+        }
+        if (node instanceof OpLE) {
+            return target -> left.applyAsLong(target) <= right.applyAsLong(target);
+        }
+        if (node instanceof OpGT) {
+            return target -> left.applyAsLong(target) > right.applyAsLong(target);
+        }
+        if (node instanceof OpGE) {
+            return target -> left.applyAsLong(target) >= right.applyAsLong(target);
+        }
+        throw new IllegalArgumentException("조건식이 아님: " + node.toStringAST());
+    }
+
+    /**
+     * 정수 연산은 long 으로 한다. (int 곱셈 오버플로우로 룰을 통과하지 않도록)
+     */
+    ToLongFunction<Object> number(SpelNode node) {
+        if (node instanceof IntLiteral || node instanceof LongLiteral) {
+            long value = ((Number) ((Literal) node).getLiteralValue().getValue()).longValue();
+            return target -> value;
+        }
+        if (node instanceof PropertyOrFieldReference) {
+            return property(((PropertyOrFieldReference) node).getName());
+        }
+        if (node instanceof OpMinus && node.getChildCount() == 1) {
+            ToLongFunction<Object> operand = number(node.getChild(0));
+            return operand == null ? null : target -> -operand.applyAsLong(target);
+        }
+        if (node instanceof OpPlus && node.getChildCount() == 1) {
+            return number(node.getChild(0));
+        }
+        if (!(node instanceof OpPlus || node instanceof OpMinus || node instanceof OpMultiply)) {
+            throw new IllegalArgumentException("숫자 식이 아님: " + node.toStringAST());
+        }
+        ToLongFunction<Object> left = number(node.getChild(0));
+        ToLongFunction<Object> right = number(node.getChild(1));
+        if (left == null || right == null) {
+            return null;
+        }
+        if (node instanceof OpPlus) {
+            return target -> left.applyAsLong(target) + right.applyAsLong(target);
+        }
+        if (node instanceof OpMinus) {
+            return target -> left.applyAsLong(target) - right.applyAsLong(target);
+        }
+        return target -> left.applyAsLong(target) * right.applyAsLong(target);
+    }
+
+    private ToLongFunction<Object> property(String name) {
+        PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, name);
+        if (property == null) {
+            return null;
+        }
+        if (!Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(property.getPropertyType()))) {
+            throw new IllegalArgumentException("숫자 필드가 아님: " + type.getSimpleName() + "." + name);
+        }
+        Function<Object, Object> getter = referenced.computeIfAbsent(name, key -> ConstraintCompiler.getter(type, key));
+        if (getter == null) {
+            return null;
+        }
+        return target -> ((Number) getter.apply(target)).longValue();
+    }
+}
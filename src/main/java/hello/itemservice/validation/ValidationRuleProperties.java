@@ -0,0 +1,39 @@
+package hello.itemservice.validation;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * validation.rules.[오류 코드].condition / arguments 로 정의하는 복합 룰.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("validation")
+public class ValidationRuleProperties {
+
+    private Map<String, Rule> rules = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Rule {
+
+        //  만족해야 하는 조건식
+        private String condition;
+        //  메시지 인자 {0}, {1} ... 로 넘길 식
+        private List<String> arguments = new ArrayList<>();
+
+        public Rule(String condition, String... arguments) {
+            this.condition = condition;
+            this.arguments = new ArrayList<>(Arrays.asList(arguments));
+        }
+    }
+}
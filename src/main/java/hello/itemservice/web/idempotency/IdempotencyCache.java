@@ -0,0 +1,153 @@
+package hello.itemservice.web.idempotency;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 멱등 키별 처리 결과. 같은 키로 다시 온 요청은 처음 요청의 결과(StoredResponse)를 받는다.
+ *
+ * - 처음 요청이 처리 중이면 나중 요청은 결과가 나올 때까지 기다린다. (더블 클릭)
+ * - 처음 요청이 결과를 남기지 않고 끝나면(release) 기다리던 요청 중 하나가 다시 처리한다.
+ * - 항목마다 요청 본문의 해시(fingerprint)를 함께 남긴다. 같은 키에 다른 본문이 오면 호출한 쪽에서 거절한다.
+ * - 항목은 ttl 이 지나면 지워지고, maxEntries 를 넘으면 오래된 항목부터 지운다.
+ *   모든 항목의 ttl 이 같으므로 넣은 순서 = 만료 순서이고, 순서 큐의 앞에서부터 지우면 된다.
+ *   처리 중인 항목은 지우지 않는다. 지우면 재시도가 키를 다시 차지해 한 번 더 저장한다.
+ *   처리 중인 항목만으로 가득 차면 새 키는 RejectedExecutionException 으로 거절한다. (503)
+ */
+public class IdempotencyCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    //  넣은 순서 - release 된 항목도 남아 있다가 앞에 오면 버려진다.
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public IdempotencyCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 키를 차지하면 항목을 돌려준다. 이 요청이 complete 또는 release 해야 한다.
+     * 다른 요청이 이미 차지하고 있으면 null.
+     *
+     * @throws RejectedExecutionException 처리 중인 항목만으로 가득 참
+     */
+    public Entry tryClaim(String key, byte[] fingerprint) {
+        long now = System.nanoTime();
+        evict(now);
+        Entry existing = entries.get(key);
+        if (existing != null && !(existing.isExpired(now) && existing.isDone())) {
+            return null;
+        }
+        if (existing == null && entries.size() >= maxEntries) {
+            throw new RejectedExecutionException("idempotency cache is full of pending requests");
+        }
+        Entry entry = new Entry(key, fingerprint, now + ttlNanos);
+        boolean claimed = existing == null
+                ? entries.putIfAbsent(key, entry) == null
+                : entries.replace(key, existing, entry);
+        if (!claimed) {
+            return null;
+        }
+        order.add(entry);
+        return entry;
+    }
+
+    /**
+     * 키를 차지하고 있는 항목, 없으면 null
+     */
+    public Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * 다른 요청이 차지한 항목의 결과를 기다린다.
+     *
+     * @return 저장된 응답, 처음 요청이 결과를 남기지 않았으면 null
+     * @throws TimeoutException timeout 안에 처음 요청이 끝나지 않음
+     */
+    public StoredResponse await(Entry entry, Duration timeout) throws TimeoutException, InterruptedException {
+        try {
+            return entry.result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    public void complete(Entry entry, StoredResponse response) {
+        entry.result.complete(response);
+    }
+
+    public void release(Entry entry) {
+        entries.remove(entry.key, entry);
+        entry.result.complete(null);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Entry head;
+        while ((head = order.peek()) != null && head.isDone() && (head.isExpired(now) || isFull())) {
+            if (order.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+        if (!isFull()) {
+            return;
+        }
+        //  앞쪽이 처리 중이면 그 뒤의 끝난 항목부터 지운다. 처리 중인 항목은 많아야 동시 요청 수만큼이다.
+        for (Iterator<Entry> it = order.iterator(); it.hasNext() && isFull(); ) {
+            Entry entry = it.next();
+            if (entry.isDone()) {
+                it.remove();
+                entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+    private boolean isFull() {
+        return entries.size() >= maxEntries;
+    }
+
+    public static final class Entry {
+
+        private final String key;
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+
+        private Entry(String key, byte[] fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * 처음 요청과 본문이 같은지
+         */
+        public boolean isSameRequest(byte[] fingerprint) {
+            return MessageDigest.isEqual(this.fingerprint, fingerprint);
+        }
+
+        private boolean isDone() {
+            return result.isDone();
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package hello.itemservice.web.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 상품 등록 요청의 중복 제출(더블 클릭, 클라이언트 재시도)을 막는다.
+ * 같은 멱등 키로 다시 온 요청은 바인딩/검증/저장 없이 처음 요청의 응답을 그대로 받는다.
+ *
+ * - 등록 폼(/validation/v1~v4/items/add): 폼의 idempotencyKey 파라미터. redirect(저장 성공) 응답만 남기고,
+ *   검증 실패로 폼을 다시 보여준 경우는 남기지 않으므로 고쳐서 다시 제출할 수 있다.
+ * - API(/validation/api/items/add, /async/add, /bulk): Idempotency-Key 헤더. 2xx 응답을 본문까지 남긴다.
+ *   NDJSON 스트리밍 등록은 응답을 모아 둘 수 없으므로 대상이 아니다. (본문도 버퍼에 담지 않는다)
+ *   본문 해시를 구하려고 본문을 메모리에 담으므로, maxBodySize 보다 큰 본문은 413 으로 거절한다.
+ *   비동기 등록(/async/add)은 결과를 쓰는 ASYNC 디스패치가 끝난 뒤에 응답을 남긴다.
+ *
+ * 키는 호출한 쪽(로그인 사용자, 없으면 세션, 세션도 없으면 클라이언트 주소)과 요청 URI 별로 구분한다.
+ * 다른 클라이언트가 같은 키를 골라도 서로의 응답을 받지 않는다.
+ * 처음 요청의 본문 해시를 함께 남기고, 같은 키에 다른 본문이 오면 처음 응답 대신 422 로 거절한다.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String FORM_PARAMETER = "idempotencyKey";
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final String ENTRY_ATTRIBUTE = IdempotencyFilter.class.getName() + ".ENTRY";
+    private static final MediaType NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    private final IdempotencyCache cache;
+    //  처음 요청이 끝나기를 기다리는 최대 시간 - 넘으면 409
+    private final Duration waitTimeout;
+    //  API 본문을 버퍼에 담을 수 있는 최대 크기 - 넘으면 413
+    private final int maxBodySize;
+
+    public IdempotencyFilter(IdempotencyCache cache, Duration waitTimeout, int maxBodySize) {
+        this.cache = cache;
+        this.waitTimeout = waitTimeout;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        return isNdjson(request.getContentType());
+    }
+
+    //  컨트롤러(consumes)와 같이 대소문자와 charset 등의 파라미터를 구분하지 않고 비교한다.
+    private static boolean isNdjson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return NDJSON.includes(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    //  비동기 처리는 ASYNC 디스패치에서 응답이 완성되므로 그때 다시 거쳐서 마무리한다.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean api = request.getRequestURI().startsWith(request.getContextPath() + "/validation/api/");
+        if (isAsyncDispatch(request)) {
+            IdempotencyCache.Entry entry = (IdempotencyCache.Entry) request.getAttribute(ENTRY_ATTRIBUTE);
+            ContentCachingResponseWrapper wrapper =
+                    WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (entry == null || wrapper == null) {
+                chain.doFilter(request, response);
+            } else {
+                process(request, wrapper, chain, entry, api);
+            }
+            return;
+        }
+        String key = api ? request.getHeader(HEADER) : request.getParameter(FORM_PARAMETER);
+        if (!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH) {
+            chain.doFilter(request, response);
+            return;
+        }
+        HttpServletRequest target = request;
+        byte[] fingerprint;
+        if (api) {
+            BufferedBodyRequest buffered = BufferedBodyRequest.read(request, maxBodySize);
+            if (buffered == null) {
+                log.info("멱등 키 요청의 본문이 너무 큽니다. {} max={}", request.getRequestURI(), maxBodySize);
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                return;
+            }
+            fingerprint = sha256(buffered.getBody());
+            target = buffered;
+        } else {
+            fingerprint = formFingerprint(request);
+        }
+        String cacheKey = caller(request) + " " + request.getRequestURI() + " " + key;
+
+        IdempotencyCache.Entry entry;
+        try {
+            while ((entry = cache.tryClaim(cacheKey, fingerprint)) == null) {
+                IdempotencyCache.Entry existing = cache.get(cacheKey);
+                if (existing == null) {
+                    continue;
+                }
+                if (!existing.isSameRequest(fingerprint)) {
+                    response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), "같은 멱등 키로 다른 요청을 보냈습니다.");
+                    return;
+                }
+                StoredResponse stored;
+                try {
+                    stored = cache.await(existing, waitTimeout);
+                } catch (TimeoutException e) {
+                    response.sendError(HttpStatus.CONFLICT.value(), "같은 요청을 아직 처리 중입니다.");
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                    return;
+                }
+                if (stored != null) {
+                    log.info("중복 요청 - 처음 응답을 돌려줍니다. {} status={}", request.getRequestURI(), stored.getStatus());
+                    replay(stored, response);
+                    return;
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            log.warn("처리 중인 멱등 키가 너무 많습니다. {}", request.getRequestURI());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        request.setAttribute(ENTRY_ATTRIBUTE, entry);
+        process(target, new ContentCachingResponseWrapper(response), chain, entry, api);
+    }
+
+    /**
+     * 요청을 처리하고 응답을 남긴다. 비동기 처리가 시작되었으면 ASYNC 디스패치에서 다시 불릴 때까지 기다린다.
+     */
+    private void process(HttpServletRequest request, ContentCachingResponseWrapper wrapper, FilterChain chain,
+                         IdempotencyCache.Entry entry, boolean api) throws ServletException, IOException {
+        boolean completed = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (!isAsyncStarted(request) && isReplayable(api, wrapper.getStatus())) {
+                cache.complete(entry, new StoredResponse(wrapper.getStatus(), wrapper.getHeader(HttpHeaders.LOCATION),
+                        wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!isAsyncStarted(request)) {
+                if (!completed) {
+                    cache.release(entry);
+                }
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * 로그인 사용자, 없으면 세션, 세션도 없으면 클라이언트 주소
+     */
+    private static String caller(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            return "session:" + session.getId();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    /**
+     * 멱등 키를 뺀 폼 파라미터를 이름 순서로 해시한다.
+     */
+    private static byte[] formFingerprint(HttpServletRequest request) {
+        StringBuilder form = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            if (FORM_PARAMETER.equals(parameter.getKey())) {
+                continue;
+            }
+            form.append(parameter.getKey()).append('\0');
+            for (String value : parameter.getValue()) {
+                form.append(value).append('\0');
+            }
+            form.append('\n');
+        }
+        return sha256(form.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isReplayable(boolean api, int status) {
+        if (api) {
+            return status >= 200 && status < 300;
+        }
+        return status >= 300 && status < 400;
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.getLocation());
+        }
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+}
@@ -0,0 +1,22 @@
+package hello.itemservice.web.idempotency;
+
+import lombok.Getter;
+
+/**
+ * 같은 멱등 키로 다시 온 요청에 그대로 돌려줄 처음 응답. (redirect 면 Location, API 면 본문)
+ */
+@Getter
+public class StoredResponse {
+
+    private final int status;
+    private final String location;
+    private final String contentType;
+    private final byte[] body;
+
+    public StoredResponse(int status, String location, String contentType, byte[] body) {
+        this.status = status;
+        this.location = location;
+        this.contentType = contentType;
+        this.body = body;
+    }
+}
@@ -0,0 +1,31 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.MessageCodesResolver;
+
+/**
+ * 오류 코드를 만들 때마다 검증 오류 수를 센다.
+ * rejectValue / reject 는 모두 MessageCodesResolver 를 거치므로, 컨트롤러에서 직접 추가한 오류(totalPriceMin 등)와
+ * 바인딩 오류(typeMismatch)도 함께 집계된다.
+ */
+public class MeteredMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+    private final ValidationMetrics metrics;
+
+    public MeteredMessageCodesResolver(MessageCodesResolver delegate, ValidationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        metrics.countRejected(errorCode, objectName, null);
+        return delegate.resolveMessageCodes(errorCode, objectName);
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        metrics.countRejected(errorCode, objectName, field);
+        return delegate.resolveMessageCodes(errorCode, objectName, field, fieldType);
+    }
+}
@@ -0,0 +1,51 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.ServletRequestDataBinder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
+import org.springframework.web.method.support.InvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletRequestDataBinderFactory;
+
+import java.util.List;
+
+/**
+ * 컨트롤러가 사용하는 DataBinder 를 TimedDataBinder 로 바꾼다.
+ * @InitBinder, 글로벌 검증기, MessageCodesResolver 설정은 그대로 적용된다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public WebMvcRegistrations timedDataBinderRegistrations(ValidationMetrics metrics) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new TimedHandlerAdapter(metrics);
+            }
+        };
+    }
+
+    static class TimedHandlerAdapter extends RequestMappingHandlerAdapter {
+
+        private final ValidationMetrics metrics;
+
+        TimedHandlerAdapter(ValidationMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        protected InitBinderDataBinderFactory createDataBinderFactory(List<InvocableHandlerMethod> binderMethods) {
+            return new ServletRequestDataBinderFactory(binderMethods, getWebBindingInitializer()) {
+                @Override
+                protected ServletRequestDataBinder createBinderInstance(Object target, String objectName,
+                                                                        NativeWebRequest request) {
+                    return new TimedDataBinder(target, objectName, metrics);
+                }
+            };
+        }
+    }
+}
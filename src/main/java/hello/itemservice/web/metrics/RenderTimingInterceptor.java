@@ -0,0 +1,42 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 컨트롤러가 끝난 뒤(postHandle)부터 요청이 완료될 때(afterCompletion)까지를 뷰 렌더링 시간으로 기록한다.
+ * redirect, forward 와 @ResponseBody 응답은 렌더링할 뷰가 없으므로 기록하지 않는다.
+ */
+@RequiredArgsConstructor
+public class RenderTimingInterceptor implements HandlerInterceptor {
+
+    private static final String START = RenderTimingInterceptor.class.getName() + ".START";
+    private static final String VIEW = RenderTimingInterceptor.class.getName() + ".VIEW";
+
+    private final ValidationMetrics metrics;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getViewName() == null
+                || modelAndView.getViewName().startsWith("redirect:")
+                || modelAndView.getViewName().startsWith("forward:")) {
+            return;
+        }
+        request.setAttribute(VIEW, modelAndView.getViewName());
+        request.setAttribute(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START);
+        if (start != null) {
+            metrics.recordRender((String) request.getAttribute(VIEW), System.nanoTime() - (Long) start);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Conventions;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * API 컨트롤러의 @RequestBody 는 DataBinder 가 아니라 HttpMessageConverter 가 만들므로 여기서 바인딩 시간을 잰다.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class RequestBodyTimingAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String START = RequestBodyTimingAdvice.class.getName() + ".START";
+
+    private final ValidationMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(START, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes attributes = RequestContextHolder.currentRequestAttributes();
+        Object start = attributes.getAttribute(START, RequestAttributes.SCOPE_REQUEST);
+        if (start != null) {
+            attributes.removeAttribute(START, RequestAttributes.SCOPE_REQUEST);
+            metrics.recordBinding("body", Conventions.getVariableNameForParameter(parameter),
+                    System.nanoTime() - (Long) start);
+        }
+        return body;
+    }
+}
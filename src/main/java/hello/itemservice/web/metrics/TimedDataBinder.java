@@ -0,0 +1,52 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.util.ObjectUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.mvc.method.annotation.ExtendedServletRequestDataBinder;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * 요청 파라미터 바인딩과 검증기별 검증 시간을 기록하는 DataBinder
+ */
+class TimedDataBinder extends ExtendedServletRequestDataBinder {
+
+    private final ValidationMetrics metrics;
+
+    TimedDataBinder(Object target, String objectName, ValidationMetrics metrics) {
+        super(target, objectName);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bind(ServletRequest request) {
+        long start = System.nanoTime();
+        super.bind(request);
+        metrics.recordBinding("parameter", getObjectName(), System.nanoTime() - start);
+    }
+
+    @Override
+    public void validate() {
+        validate(new Object[0]);
+    }
+
+    /**
+     * DataBinder.validate(Object...) 와 같은 순서로 검증기를 호출하면서 검증기마다 시간을 잰다.
+     */
+    @Override
+    public void validate(Object... validationHints) {
+        Object target = getTarget();
+        BindingResult bindingResult = getBindingResult();
+        for (Validator validator : getValidators()) {
+            long start = System.nanoTime();
+            if (!ObjectUtils.isEmpty(validationHints) && validator instanceof SmartValidator) {
+                ((SmartValidator) validator).validate(target, bindingResult, validationHints);
+            } else {
+                validator.validate(target, bindingResult);
+            }
+            metrics.recordValidator(validator.getClass().getSimpleName(), getObjectName(), System.nanoTime() - start);
+        }
+    }
+}
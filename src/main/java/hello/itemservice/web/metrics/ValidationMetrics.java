@@ -0,0 +1,64 @@
+package hello.itemservice.web.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 처리 단계별 시간과 검증 오류 수를 기록한다.
+ *
+ * item.binding - 요청 파라미터(@ModelAttribute) 또는 요청 본문(@RequestBody)을 객체로 만드는 시간
+ * item.validator - 검증기(ItemValidator, Bean Validation) 하나가 객체 하나를 검증하는 시간
+ * item.render - 뷰 렌더링 시간
+ * item.warmup - 시작할 때 화면별 첫 요청(first)과 이후 요청(steady) 응답 시간 (TemplateWarmup)
+ * item.rejected - 오류 코드별 검증 오류 수 (code, object, field)
+ */
+@Component
+@RequiredArgsConstructor
+public class ValidationMetrics {
+
+    private final MeterRegistry registry;
+
+    public void recordBinding(String kind, String objectName, long nanos) {
+        Timer.builder("item.binding")
+                .tag("kind", kind)
+                .tag("object", objectName)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordValidator(String validator, String objectName, long nanos) {
+        Timer.builder("item.validator")
+                .tag("validator", validator)
+                .tag("object", objectName)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRender(String view, long nanos) {
+        Timer.builder("item.render")
+                .tag("view", view)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordWarmup(String path, String phase, long nanos) {
+        Timer.builder("item.warmup")
+                .tag("path", path)
+                .tag("phase", phase)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    //  ObjectError 는 field 가 없으므로 빈 문자열로 기록한다.
+    public void countRejected(String code, String objectName, String field) {
+        registry.counter("item.rejected",
+                "code", code,
+                "object", objectName,
+                "field", field == null ? "" : field)
+                .increment();
+    }
+}
@@ -0,0 +1,26 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+
+/**
+ * API 응답용 검증 오류. ObjectError 를 그대로 내보내면 codes, arguments 같은 내부 정보까지 직렬화되므로
+ * 클라이언트에 필요한 값(필드, 오류 코드, 메시지, 거부된 값)만 담는다. 메시지는 만들 때 요청 Locale 로 풀어둔다.
+ */
+@Getter
+@JsonSerialize(using = ApiErrorSerializer.class)
+public class ApiError {
+
+    //  ObjectError(복합 룰 오류)는 null
+    private final String field;
+    private final String code;
+    private final String message;
+    private final Object rejectedValue;
+
+    public ApiError(String field, String code, String message, Object rejectedValue) {
+        this.field = field;
+        this.code = code;
+        this.message = message;
+        this.rejectedValue = rejectedValue;
+    }
+}
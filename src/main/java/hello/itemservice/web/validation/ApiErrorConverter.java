@@ -0,0 +1,66 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.validation.ErrorDescriptor;
+import hello.itemservice.validation.LazyErrors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ObjectError 를 API 응답용 ApiError 로 바꾼다. 메시지는 errors.properties 에서 찾고, 없으면 기본 메시지를 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiErrorConverter {
+
+    private final MessageSource messageSource;
+
+    public List<ApiError> convert(List<ObjectError> errors, Locale locale) {
+        List<ApiError> result = new ArrayList<>(errors.size());
+        for (ObjectError error : errors) {
+            result.add(convert(error, locale));
+        }
+        return result;
+    }
+
+    public ApiError convert(ObjectError error, Locale locale) {
+        String message = message(error, locale);
+        if (error instanceof FieldError) {
+            FieldError fieldError = (FieldError) error;
+            return new ApiError(fieldError.getField(), error.getCode(), message, fieldError.getRejectedValue());
+        }
+        return new ApiError(null, error.getCode(), message, null);
+    }
+
+    /**
+     * 기록한 오류에서 바로 만든다. FieldError 는 만들지 않고, 메시지를 찾을 때만 오류 코드 배열을 만든다.
+     * 미리 만든 오류(ErrorDescriptor)는 인자가 고정이므로 메시지를 한 번 찾은 뒤 재사용한다.
+     */
+    public List<ApiError> convert(LazyErrors errors, Locale locale) {
+        List<ApiError> result = new ArrayList<>(errors.getErrorCount());
+        for (LazyErrors.LazyError error : errors.getLazyErrors()) {
+            ErrorDescriptor descriptor = error.getDescriptor();
+            String message = descriptor != null
+                    ? descriptor.message(errors.getObjectName(), locale, () -> message(error, locale))
+                    : message(error, locale);
+            result.add(new ApiError(error.getField(), error.getCode(), message, error.getRejectedValue()));
+        }
+        return result;
+    }
+
+    private String message(MessageSourceResolvable error, Locale locale) {
+        try {
+            return messageSource.getMessage(error, locale);
+        } catch (NoSuchMessageException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * ApiError 전용 직렬화. 리플렉션으로 getter 를 찾지 않고 필드를 직접 쓰며, null 인 필드는 생략한다.
+ */
+class ApiErrorSerializer extends StdSerializer<ApiError> {
+
+    private static final long serialVersionUID = 1L;
+
+    ApiErrorSerializer() {
+        super(ApiError.class);
+    }
+
+    @Override
+    public void serialize(ApiError error, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        if (error.getField() != null) {
+            generator.writeStringField("field", error.getField());
+        }
+        generator.writeStringField("code", error.getCode());
+        if (error.getMessage() != null) {
+            generator.writeStringField("message", error.getMessage());
+        }
+        Object rejectedValue = error.getRejectedValue();
+        if (rejectedValue instanceof String) {
+            generator.writeStringField("rejectedValue", (String) rejectedValue);
+        } else if (rejectedValue instanceof Integer) {
+            generator.writeNumberField("rejectedValue", (Integer) rejectedValue);
+        } else if (rejectedValue instanceof Long) {
+            generator.writeNumberField("rejectedValue", (Long) rejectedValue);
+        } else if (rejectedValue != null) {
+            generator.writeFieldName("rejectedValue");
+            provider.defaultSerializeValue(rejectedValue, generator);
+        }
+        generator.writeEndObject();
+    }
+}
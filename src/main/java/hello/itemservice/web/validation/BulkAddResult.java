@@ -0,0 +1,23 @@
+package hello.itemservice.web.validation;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일괄 등록 결과. errors 의 key 는 요청 배열의 index 이다.
+ */
+@Getter
+public class BulkAddResult {
+
+    private final int requested;
+    private final List<Long> savedIds;
+    private final Map<Integer, List<ApiError>> errors;
+
+    public BulkAddResult(int requested, List<Long> savedIds, Map<Integer, List<ApiError>> errors) {
+        this.requested = requested;
+        this.savedIds = savedIds;
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,63 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.CatalogVersion;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 상품 목록/상세 화면의 조건부 GET.
+ * 목록은 저장소 전체 변경 번호(CatalogVersion), 상세는 상품 version 으로 ETag 를 만든다.
+ * 바뀌지 않았으면 컨트롤러가 상품을 조회하거나 뷰를 렌더링하기 전에 304 로 응답한다.
+ *
+ * Last-Modified 는 보내지 않는다. HTTP 날짜는 초 단위라서 같은 초 안의 두 번째 변경을 구분하지 못하고,
+ * If-Modified-Since 만 보내는 클라이언트가 낡은 화면을 304 로 받게 된다.
+ * 같은 번호라도 렌더링 결과가 바이트 단위로 같다고 보장하지 않으므로 약한 ETag(W/)를 쓴다.
+ *
+ * 화면은 요청 언어로 렌더링되므로 ETag 에 Locale 을 넣고 Vary: Accept-Language 를 보낸다.
+ * 재시작(배포)하면 템플릿이나 메시지가 바뀌었을 수 있으므로 시작 시각도 넣어서 이전 ETag 는 맞지 않게 한다.
+ * Cache-Control: no-cache 로 브라우저/프록시가 매번 다시 확인하게 한다. (확인 자체는 304 라서 싸다)
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemHttpCaching {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ItemRepository itemRepository;
+
+    /**
+     * 목록 화면 - true 면 304 응답이 준비된 것이므로 컨트롤러는 null 을 반환한다.
+     * 변경 번호를 먼저 읽고 목록을 나중에 조회하므로, 렌더링한 목록은 항상 ETag 보다 같거나 새롭다.
+     */
+    public boolean checkItems(ServletWebRequest request) {
+        CatalogVersion catalog = itemRepository.catalogVersion();
+        return check(request, "c" + catalog.getVersion());
+    }
+
+    /**
+     * 상세 화면 - 없는 상품은 확인하지 않는다.
+     */
+    public boolean checkItem(ServletWebRequest request, Item item) {
+        if (item == null) {
+            return false;
+        }
+        return check(request, "i" + item.getId() + "." + item.getVersion());
+    }
+
+    private static boolean check(ServletWebRequest request, String tag) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        }
+        String etag = "W/\"" + tag + "-" + EPOCH + "-" + LocaleContextHolder.getLocale().toLanguageTag() + "\"";
+        return request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,250 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.validation.FailFast;
+import hello.itemservice.validation.LazyErrors;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * API 로 들어온 상품을 ItemSaveForm 과 같은 규칙(Bean Validation + totalPriceMin)으로 검증하고 저장한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+
+    //  이보다 적으면 병렬 처리 비용이 더 크다.
+    private static final int PARALLEL_THRESHOLD = 64;
+    //  스트리밍 등록에서 한 번에 저장하고 응답으로 내보내는 레코드 수 - 메모리 사용량은 이 크기로 고정된다.
+    private static final int STREAM_BATCH_SIZE = 1000;
+    private static final String OBJECT_NAME = "itemSaveForm";
+    //  BeanPropertyBindingResult 기본값(DefaultMessageCodesResolver)과 같은 코드를, 한 번 만든 배열로 재사용한다.
+    private static final MessageCodesResolver CODES_RESOLVER = new CachingMessageCodesResolver(new DefaultMessageCodesResolver());
+    //  배열의 null 원소 - 상품이 없으므로 필드가 아닌 오류로 알린다.
+    private static final ObjectError RECORD_REQUIRED =
+            new ObjectError(OBJECT_NAME, CODES_RESOLVER.resolveMessageCodes("required", OBJECT_NAME), null, null);
+
+    private final ItemRepository itemRepository;
+    private final CompiledValidator validator;
+    private final CrossFieldRules crossFieldRules;
+    private final ObjectMapper objectMapper;
+    private final ApiErrorConverter errorConverter;
+    //  같은 내용의 상품은 검증 결과를 재사용한다. (사용하지 않으면 ValidationResultCache.disabled())
+    private final ValidationResultCache resultCache;
+
+    public BindingResult validate(ItemSaveForm form) {
+        return validate(form, false);
+    }
+
+    /**
+     * failFast 면 첫 번째 오류에서 멈춘다. 오류가 있는 상품도 오류 하나만 만든다.
+     */
+    public BindingResult validate(ItemSaveForm form, boolean failFast) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, OBJECT_NAME);
+        validate(form, bindingResult, failFast);
+        return bindingResult;
+    }
+
+    private void validate(ItemSaveForm form, Errors errors, boolean failFast) {
+        if (failFast) {
+            validator.validate(form, errors, FailFast.class);
+        } else {
+            validator.validate(form, errors);
+        }
+
+        //  특정 필드가 아닌 복합 룰
+        crossFieldRules.validate(form, errors, failFast);
+    }
+
+    /**
+     * 하나를 검증하고, 통과하면 저장한다. 오류가 있으면 저장하지 않고 오류 목록을 돌려준다.
+     * 요청 스레드가 아닌 곳에서도 부를 수 있도록 Locale 을 받는다.
+     */
+    public Object add(ItemSaveForm form, Locale locale) {
+        List<ApiError> errors = validate(form, false, locale);
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+        return itemRepository.save(toItem(form));
+    }
+
+    /**
+     * 여러 코어에서 나눠 검증한 뒤, 검증을 통과한 상품만 한 번에 저장한다.
+     */
+    public BulkAddResult addAll(List<ItemSaveForm> forms) {
+        return addAll(forms, false);
+    }
+
+    public BulkAddResult addAll(List<ItemSaveForm> forms, boolean failFast) {
+        Locale locale = LocaleContextHolder.getLocale();
+        IntStream indexes = IntStream.range(0, forms.size());
+        if (forms.size() >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        //  오류 메시지 변환도 작업 스레드에서 같이 한다.
+        List<List<ApiError>> results = indexes
+                .mapToObj(index -> validate(forms.get(index), failFast, locale))
+                .collect(Collectors.toList());
+
+        List<Item> items = new ArrayList<>();
+        Map<Integer, List<ApiError>> errors = new TreeMap<>();
+        for (int index = 0; index < forms.size(); index++) {
+            List<ApiError> formErrors = results.get(index);
+            if (!formErrors.isEmpty()) {
+                errors.put(index, formErrors);
+            } else {
+                items.add(toItem(forms.get(index)));
+            }
+        }
+
+        List<Long> savedIds = itemRepository.saveAll(items).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        log.info("일괄 등록 requested={}, saved={}, rejected={}", forms.size(), savedIds.size(), errors.size());
+        return new BulkAddResult(forms.size(), savedIds, errors);
+    }
+
+    /**
+     * NDJSON(한 줄에 상품 하나)을 읽는 대로 검증하고, 레코드별 결과를 NDJSON 으로 바로 내보낸다.
+     * 전체 요청을 List 로 만들지 않으므로 업로드 크기와 상관없이 메모리 사용량이 일정하다.
+     * JSON 형식이 잘못된 줄을 만나면 그 줄의 오류를 쓰고 중단한다. null 인 줄은 그 레코드만 required 로 거절한다.
+     *
+     * @return 처리한 레코드 수
+     */
+    public long importStream(InputStream in, OutputStream out) throws IOException {
+        return importStream(in, out, false);
+    }
+
+    public long importStream(InputStream in, OutputStream out, boolean failFast) throws IOException {
+        long count = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            //  null 토큰은 ItemSaveForm 으로 바로 읽으면 예외가 나므로, 트리로 읽고 null 은 그 레코드만 거절한다.
+            MappingIterator<JsonNode> records = objectMapper.readerFor(JsonNode.class).readValues(parser);
+
+            List<ItemSaveForm> batch = new ArrayList<>(STREAM_BATCH_SIZE);
+            try {
+                while (records.hasNextValue()) {
+                    JsonNode record = records.nextValue();
+                    boolean missing = record == null || record.isNull();
+                    batch.add(missing ? null : objectMapper.treeToValue(record, ItemSaveForm.class));
+                    if (batch.size() == STREAM_BATCH_SIZE) {
+                        writeBatch(batch, count, failFast, generator);
+                        count += batch.size();
+                        batch.clear();
+                    }
+                }
+            } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                writeBatch(batch, count, failFast, generator);
+                count += batch.size();
+                batch.clear();
+                writeLine(generator, StreamRecordResult.malformed(count));
+                log.info("스트리밍 등록 중단 - 잘못된 JSON index={}", count, e);
+                return count;
+            }
+            writeBatch(batch, count, failFast, generator);
+            count += batch.size();
+        }
+        log.info("스트리밍 등록 완료 records={}", count);
+        return count;
+    }
+
+    private void writeBatch(List<ItemSaveForm> batch, long firstIndex, boolean failFast,
+                            JsonGenerator generator) throws IOException {
+        Locale locale = LocaleContextHolder.getLocale();
+        List<List<ApiError>> results = new ArrayList<>(batch.size());
+        List<Item> items = new ArrayList<>(batch.size());
+        for (ItemSaveForm form : batch) {
+            List<ApiError> errors = validate(form, failFast, locale);
+            results.add(errors);
+            if (errors.isEmpty()) {
+                items.add(toItem(form));
+            }
+        }
+        itemRepository.saveAll(items);
+
+        int saved = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            List<ApiError> errors = results.get(i);
+            if (!errors.isEmpty()) {
+                writeLine(generator, StreamRecordResult.rejected(firstIndex + i, errors));
+            } else {
+                writeLine(generator, StreamRecordResult.saved(firstIndex + i, items.get(saved++).getId()));
+            }
+        }
+        generator.flush();
+    }
+
+    //  NDJSON 은 마지막 줄도 줄바꿈으로 끝난다.
+    private static void writeLine(JsonGenerator generator, StreamRecordResult result) throws IOException {
+        generator.writeObject(result);
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * 병렬 작업 스레드에도 요청 Locale 을 넘겨서 기본 메시지가 요청 언어로 만들어지도록 한다.
+     * 같은 내용을 이미 검증했으면 보관한 결과를 돌려준다. (ValidationResultCache - 돌려준 목록은 수정하면 안 된다)
+     */
+    List<ApiError> validate(ItemSaveForm form, boolean failFast, Locale locale) {
+        if (form == null) {
+            return List.of(errorConverter.convert(RECORD_REQUIRED, locale));
+        }
+        return resultCache.get(form, failFast, locale, validator.getOverrides(),
+                () -> validateUncached(form, failFast, locale));
+    }
+
+    private List<ApiError> validateUncached(ItemSaveForm form, boolean failFast, Locale locale) {
+        LocaleContext previous = LocaleContextHolder.getLocaleContext();
+        LocaleContextHolder.setLocale(locale);
+        try {
+            //  오류는 (필드, 코드, 인자) 로만 기록하고, ApiError 로 바꿀 때 메시지를 찾는다. (FieldError 를 만들지 않는다)
+            LazyErrors errors = new LazyErrors(form, OBJECT_NAME, CODES_RESOLVER);
+            validate(form, errors, failFast);
+            return errors.hasErrors() ? errorConverter.convert(errors, locale) : List.of();
+        } finally {
+            LocaleContextHolder.setLocaleContext(previous);
+        }
+    }
+
+    private static Item toItem(ItemSaveForm form) {
+        Item item = new Item();
+        item.setItemName(form.getItemName());
+        item.setPrice(form.getPrice());
+        item.setQuantity(form.getQuantity());
+        return item;
+    }
+}
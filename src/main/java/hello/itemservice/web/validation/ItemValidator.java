@@ -1,16 +1,31 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.ConstraintOverrides;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.ErrorDescriptor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.Errors;
-import org.springframework.validation.Validator;
+import org.springframework.validation.SmartValidator;
 
 @Slf4j
 @Component
-public class ItemValidator implements Validator {
+@RequiredArgsConstructor
+public class ItemValidator implements SmartValidator {
+
+    private static final ErrorDescriptor ITEM_NAME_REQUIRED = new ErrorDescriptor("itemName", "required", (Object[]) null);
+
+    private final CrossFieldRules crossFieldRules;
+    //  가격 범위, 최대 수량은 검증 설정 파일(Item.price.Range.min 등)로 바꿀 수 있다.
+    private final CompiledValidator compiledValidator;
+    //  검증 설정이 바뀌기 전까지 같은 오류(인자 배열)를 재사용한다.
+    private volatile Limits limits;
+
     @Override
     public boolean supports(Class<?> clazz) {
         return Item.class.isAssignableFrom(clazz);
@@ -20,26 +35,84 @@ public class ItemValidator implements Validator {
 
     @Override
     public void validate(Object target, Errors errors) {
-        Item item = (Item) target;
+        validate((Item) target, errors, false);
+    }
+
+    //  @Validated(FailFast.class) 이면 첫 번째 오류에서 멈춘다.
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        validate((Item) target, errors, CompiledValidator.isFailFast(validationHints));
+    }
+
+    private void validate(Item item, Errors errors, boolean failFast) {
+        if (failFast && errors.hasErrors()) {
+            return;
+        }
 
         if (!StringUtils.hasText(item.getItemName())) {
-            errors.rejectValue("itemName","required");
+            ITEM_NAME_REQUIRED.reject(errors, item.getItemName());
+            if (failFast) {
+                return;
+            }
         }
 
-        if (item.getPrice() == null || item.getPrice() < 1000 || item.getPrice() > 1000000 ) {
-            errors.rejectValue("price","range",new Object[]{1000,1000000},null);
+        Limits limits = limits();
+
+        if (item.getPrice() == null || item.getPrice() < limits.minPrice || item.getPrice() > limits.maxPrice ) {
+            limits.priceRange.reject(errors, item.getPrice());
+            if (failFast) {
+                return;
+            }
         }
 
-        if (item.getQuantity() == null || item.getQuantity() > 10000  ) {
-            errors.rejectValue("quantity","max",new Object[]{9999},null);
+        if (item.getQuantity() == null || item.getQuantity() > limits.maxQuantity  ) {
+            limits.quantityMax.reject(errors, item.getQuantity());
+            if (failFast) {
+                return;
+            }
         }
 
         //  특정 필드가 아닌 복합 룰
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                errors.reject("totalPriceMin", new Object[]{10000,resultPrice},null);
+        crossFieldRules.validate(item, errors, failFast);
+    }
+
+    private Limits limits() {
+        ConstraintOverrides overrides = compiledValidator.getOverrides();
+        Limits current = limits;
+        if (current == null || current.overrides != overrides) {
+            current = new Limits(overrides);
+            limits = current;
+        }
+        return current;
+    }
+
+    /**
+     * 한 검증 설정의 가격 범위, 최대 수량과 그 인자로 만든 오류
+     */
+    private static class Limits {
+
+        private final ConstraintOverrides overrides;
+        private final long minPrice;
+        private final long maxPrice;
+        private final long maxQuantity;
+        private final ErrorDescriptor priceRange;
+        private final ErrorDescriptor quantityMax;
+
+        Limits(ConstraintOverrides overrides) {
+            this.overrides = overrides;
+            this.minPrice = overrides.getLong(ConstraintOverrides.ITEM_PRICE_MIN, 1000);
+            this.maxPrice = overrides.getLong(ConstraintOverrides.ITEM_PRICE_MAX, 1000000);
+            this.maxQuantity = overrides.getLong(ConstraintOverrides.ITEM_QUANTITY_MAX, 9999);
+            this.priceRange = new ErrorDescriptor("price", "range", argument(minPrice), argument(maxPrice));
+            this.quantityMax = new ErrorDescriptor("quantity", "max", argument(maxQuantity));
+        }
+
+        //  복합 룰(CrossFieldRule)과 같게 int 범위면 Integer 로 넘긴다.
+        private static Object argument(long value) {
+            if (value == (int) value) {
+                return (int) value;
             }
+            return value;
         }
     }
 }
@@ -0,0 +1,44 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * NDJSON 스트리밍 등록에서 레코드 한 줄에 대한 결과. 저장되면 id, 검증에 실패하면 errors 가 채워진다.
+ * JSON 형식이 잘못된 줄은 고정된 code/message 로 알린다. (파서 예외 메시지에는 내부 클래스 이름과 위치가 들어 있다)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StreamRecordResult {
+
+    public static final String MALFORMED_CODE = "malformedRecord";
+    public static final String MALFORMED_MESSAGE = "JSON 형식이 잘못되었습니다.";
+
+    private final long index;
+    private final Long id;
+    private final List<ApiError> errors;
+    private final String code;
+    private final String message;
+
+    private StreamRecordResult(long index, Long id, List<ApiError> errors, String code, String message) {
+        this.index = index;
+        this.id = id;
+        this.errors = errors;
+        this.code = code;
+        this.message = message;
+    }
+
+    public static StreamRecordResult saved(long index, Long id) {
+        return new StreamRecordResult(index, id, null, null, null);
+    }
+
+    public static StreamRecordResult rejected(long index, List<ApiError> errors) {
+        return new StreamRecordResult(index, null, errors, null, null);
+    }
+
+    public static StreamRecordResult malformed(long index) {
+        return new StreamRecordResult(index, null, null, MALFORMED_CODE, MALFORMED_MESSAGE);
+    }
+}
@@ -1,22 +1,73 @@
 package hello.itemservice.web.validation;
 
 
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_SEARCH_SIZE = 1000;
+
+    private final ItemImporter itemImporter;
+    private final ItemRepository itemRepository;
+    private final ApiErrorConverter errorConverter;
+    //  WebConfig.validationExecutor
+    @Qualifier("validationExecutor")
+    private final Executor validationExecutor;
+
+    //  상품명 prefix 는 상품명 순서로, 가격 범위는 가격 순서로 찾는다.
+    //  두 조건을 함께 쓰는 인덱스는 없으므로 상품명과 가격 범위를 함께 주면 400 으로 거절한다.
+    @GetMapping("/search")
+    public List<Item> search(@RequestParam(required = false) String itemName,
+                             @RequestParam(required = false) Integer minPrice,
+                             @RequestParam(required = false) Integer maxPrice,
+                             @RequestParam(defaultValue = "20") int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        if (StringUtils.hasText(itemName)) {
+            if (minPrice != null || maxPrice != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "itemName 과 minPrice/maxPrice 는 함께 사용할 수 없습니다.");
+            }
+            return itemRepository.findByItemNamePrefix(itemName, limit);
+        }
+        return itemRepository.findByPriceRange(minPrice == null ? 0 : minPrice,
+                maxPrice == null ? Integer.MAX_VALUE : maxPrice, limit);
+    }
+
     @PostMapping("/add")
-    public Object addItem(@RequestBody @Validated ItemSaveForm form , BindingResult bindingResult){
+    public Object addItem(@RequestBody @Validated ItemSaveForm form , BindingResult bindingResult, Locale locale){
 
         //  JSON 객체를 만들지 못하면 컨트롤러 호출 뿐만 아니라 검증도 할 수 없다.
         //  ModelAttribute는 각각의 데이터에 따른 검증이 세밀하게 이루어 지는 점과 차이가 있다고 볼 수 있음.
@@ -25,10 +76,49 @@ public class ValidationItemApiController {
 
         if(bindingResult.hasErrors()){
             log.info("검증 오류 발생 errors={}", bindingResult);
-            return bindingResult.getAllErrors();
+            return errorConverter.convert(bindingResult.getAllErrors(), locale);
         }
 
         log.info("성공 로직 실행");
         return form;
     }
+
+    //  검증에 통과하면 저장한 상품을, 실패하면 오류 목록을 400 으로 돌려준다.
+    //  검증/저장은 validationExecutor 에서 하고, 요청 스레드는 바로 서블릿 컨테이너로 돌아가서 다른 요청을 받는다.
+    @PostMapping("/async/add")
+    public CompletableFuture<ResponseEntity<Object>> addItemAsync(@RequestBody ItemSaveForm form, Locale locale) {
+        return CompletableFuture.supplyAsync(() -> {
+            Object result = itemImporter.add(form, locale);
+            if (result instanceof Item) {
+                return ResponseEntity.ok(result);
+            }
+            return ResponseEntity.badRequest().body(result);
+        }, validationExecutor);
+    }
+
+    //  작업 대기열이 가득 차면 요청을 쌓아두지 않고 바로 거절한다.
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public void rejected(RejectedExecutionException e) {
+        log.warn("비동기 등록 거절 - 작업 대기열이 가득 찼습니다.");
+    }
+
+    //  JSON 배열로 여러 상품을 한 번에 등록한다. 검증에 통과한 상품만 저장하고, 실패한 상품은 배열 index 별로 오류를 돌려준다.
+    //  failFast=true 면 실패한 상품마다 첫 번째 오류만 돌려준다. (저장 여부만 필요한 클라이언트용)
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkAddResult addItems(@RequestBody List<ItemSaveForm> forms,
+                                  @RequestParam(defaultValue = "false") boolean failFast) {
+        log.info("API 일괄 등록 호출 size={}, failFast={}", forms.size(), failFast);
+        return itemImporter.addAll(forms, failFast);
+    }
+
+    //  NDJSON 으로 보내면 요청을 읽는 대로 한 줄씩 검증/저장하고, 결과도 한 줄씩 바로 내보낸다.
+    @PostMapping(value = "/bulk", consumes = NDJSON)
+    public void addItemStream(HttpServletRequest request, HttpServletResponse response,
+                              @RequestParam(defaultValue = "false") boolean failFast) throws IOException {
+        log.info("API 스트리밍 등록 호출 failFast={}", failFast);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        itemImporter.importStream(request.getInputStream(), response.getOutputStream(), failFast);
+    }
 }
@@ -1,16 +1,19 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Controller
@@ -19,17 +22,25 @@ import java.util.Map;
 public class ValidationItemControllerV1 {
 
     private final ItemRepository itemRepository;
+    private final ItemHttpCaching itemHttpCaching;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(defaultValue = "0") long after, Model model, ServletWebRequest request) {
+        if (itemHttpCaching.checkItems(request)) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(after, ItemPage.DEFAULT_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v1/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (itemHttpCaching.checkItem(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v1/item";
     }
@@ -83,8 +94,16 @@ public class ValidationItemControllerV1 {
     }
 
     @PostMapping("/{itemId}/edit")
-    public String edit(@PathVariable Long itemId, @ModelAttribute Item item) {
-        itemRepository.update(itemId, item);
+    public String edit(@PathVariable Long itemId, @ModelAttribute Item item, BindingResult bindingResult) throws BindException {
+        //  타입 변환 실패는 BindingResult 가 없을 때처럼 400 으로 응답한다.
+        if (bindingResult.hasErrors()) {
+            throw new BindException(bindingResult);
+        }
+        //  수정 폼을 연 뒤에 다른 사용자가 먼저 수정했으면 덮어쓰지 않는다. (폼의 version)
+        if (!itemRepository.update(itemId, item)) {
+            bindingResult.reject("staleItem");
+            return "validation/v1/editForm";
+        }
         return "redirect:/validation/v1/items/{itemId}";
     }
 
@@ -1,22 +1,24 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
+import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 @Slf4j
 @Controller
@@ -25,23 +27,32 @@ import java.util.Map;
 public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
+    private final ItemHttpCaching itemHttpCaching;
     private final ItemValidator itemValidator;
 
-    @InitBinder
+    //  목록 화면의 page 같은 다른 모델 객체에는 ItemValidator 를 붙이지 않는다.
+    @InitBinder("item")
     public void init(WebDataBinder dataBinder){
         dataBinder.addValidators(itemValidator);
     }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(defaultValue = "0") long after, Model model, ServletWebRequest request) {
+        if (itemHttpCaching.checkItems(request)) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(after, ItemPage.DEFAULT_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v2/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (itemHttpCaching.checkItem(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v2/item";
     }
@@ -247,8 +258,17 @@ public class ValidationItemControllerV2 {
         }
 
         @PostMapping("/{itemId}/edit")
-        public String edit (@PathVariable Long itemId, @ModelAttribute Item item){
-            itemRepository.update(itemId, item);
+        public String edit (@PathVariable Long itemId, @ModelAttribute Item item, BindingResult bindingResult) throws BindException {
+            //  타입 변환 실패는 BindingResult 가 없을 때처럼 400 으로 응답한다.
+            if (bindingResult.hasErrors()) {
+                throw new BindException(bindingResult);
+            }
+            //  수정 폼을 연 뒤에 다른 사용자가 먼저 수정했으면 덮어쓰지 않는다. (폼의 version)
+            if (!itemRepository.update(itemId, item)) {
+                bindingResult.reject("staleItem");
+                log.info("errors= {} ", bindingResult);
+                return "validation/v2/editForm";
+            }
             return "redirect:/validation/v2/items/{itemId}";
         }
     }
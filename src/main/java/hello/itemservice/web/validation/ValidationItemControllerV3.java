@@ -1,9 +1,11 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.validation.CrossFieldRules;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -15,10 +17,10 @@ import org.springframework.validation.ObjectError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -28,17 +30,26 @@ import java.util.Map;
 public class ValidationItemControllerV3 {
 
     private final ItemRepository itemRepository;
+    private final ItemHttpCaching itemHttpCaching;
+    private final CrossFieldRules crossFieldRules;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(defaultValue = "0") long after, Model model, ServletWebRequest request) {
+        if (itemHttpCaching.checkItems(request)) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(after, ItemPage.DEFAULT_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v3/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (itemHttpCaching.checkItem(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v3/item";
     }
@@ -92,37 +103,37 @@ public class ValidationItemControllerV3 {
 
         //@PostMapping("/{itemId}/edit")
         public String edit (@PathVariable Long itemId, @Validated @ModelAttribute Item item,BindingResult bindingResult){
-            itemRepository.update(itemId, item);
-
             //  특정 필드가 아닌 복합 룰
-            if (item.getPrice() != null && item.getQuantity() != null) {
-                int resultPrice = item.getPrice() * item.getQuantity();
-                if (resultPrice < 10000) {
-                    bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-                }
-            }
+            crossFieldRules.validate(item, bindingResult);
             if (bindingResult.hasErrors()) {
                 log.info("errors= {} ", bindingResult);
                 return "validation/v3/editForm";
             }
+
+            //  수정 폼을 연 뒤에 다른 사용자가 먼저 수정했으면 덮어쓰지 않는다. (폼의 version)
+            if (!itemRepository.update(itemId, item)) {
+                bindingResult.reject("staleItem");
+                log.info("errors= {} ", bindingResult);
+                return "validation/v3/editForm";
+            }
             return "redirect:/validation/v3/items/{itemId}";
         }
 
     @PostMapping("/{itemId}/edit")
     public String edit2 (@PathVariable Long itemId, @Validated(UpdateCheck.class) @ModelAttribute Item item, BindingResult bindingResult){
-        itemRepository.update(itemId, item);
-
         //  특정 필드가 아닌 복합 룰
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        crossFieldRules.validate(item, bindingResult);
         if (bindingResult.hasErrors()) {
             log.info("errors= {} ", bindingResult);
             return "validation/v3/editForm";
         }
+
+        //  검증을 통과한 뒤에만 저장한다. 수정 폼을 연 뒤에 다른 사용자가 먼저 수정했으면 덮어쓰지 않는다. (폼의 version)
+        if (!itemRepository.update(itemId, item)) {
+            bindingResult.reject("staleItem");
+            log.info("errors= {} ", bindingResult);
+            return "validation/v3/editForm";
+        }
         return "redirect:/validation/v3/items/{itemId}";
     }
 
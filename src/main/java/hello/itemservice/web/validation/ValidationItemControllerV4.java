@@ -1,22 +1,30 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.validation.ClientConstraintExporter;
+import hello.itemservice.validation.CrossFieldRules;
 import hello.itemservice.web.validation.form.ItemEditForm;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemSearchForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 
+
 @Slf4j
 @Controller
 @RequestMapping("/validation/v4/items")
@@ -24,17 +32,51 @@ import java.util.List;
 public class ValidationItemControllerV4 {
 
     private final ItemRepository itemRepository;
+    private final ItemHttpCaching itemHttpCaching;
+    private final CrossFieldRules crossFieldRules;
+    private final ClientConstraintExporter clientConstraintExporter;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
+    public String items(@RequestParam(defaultValue = "0") long after, Model model, ServletWebRequest request) {
+        if (itemHttpCaching.checkItems(request)) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(after, ItemPage.DEFAULT_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
+        return "validation/v4/items";
+    }
+
+    //  상품명을 입력하면 상품명 prefix 로, 아니면 가격 범위로 찾는다. (가격 순서)
+    //  둘을 같이 입력하면 API(/validation/api/items/search)와 같이 거절한다. (검색 폼의 글로벌 오류)
+    @GetMapping("/search")
+    public String search(@ModelAttribute("search") ItemSearchForm search, BindingResult bindingResult, Model model) {
+        String itemName = search.getItemName();
+        Integer minPrice = search.getMinPrice();
+        Integer maxPrice = search.getMaxPrice();
+        if (StringUtils.hasText(itemName) && (minPrice != null || maxPrice != null)) {
+            bindingResult.reject("searchFilter");
+        }
+        if (bindingResult.hasErrors()) {
+            log.info("errors= {} ", bindingResult);
+            model.addAttribute("items", List.of());
+            return "validation/v4/items";
+        }
+
+        List<Item> items = StringUtils.hasText(itemName)
+                ? itemRepository.findByItemNamePrefix(itemName, ItemPage.DEFAULT_SIZE)
+                : itemRepository.findByPriceRange(minPrice == null ? 0 : minPrice,
+                maxPrice == null ? Integer.MAX_VALUE : maxPrice, ItemPage.DEFAULT_SIZE);
         model.addAttribute("items", items);
         return "validation/v4/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (itemHttpCaching.checkItem(request, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v4/item";
     }
@@ -44,6 +86,7 @@ public class ValidationItemControllerV4 {
     @GetMapping("/add")
     public String addForm(Model model) {
         model.addAttribute("item", new Item());
+        addConstraints(model, ItemSaveForm.class);
         return "validation/v4/addForm";
     }
 
@@ -51,18 +94,14 @@ public class ValidationItemControllerV4 {
     //  뷰템플릿 변경을 하기 싫으면 그래서 설정해줘야함.
     @PostMapping("/add")
     public String addItem (@Validated @ModelAttribute("item") ItemSaveForm form,
-                           BindingResult bindingResult, RedirectAttributes redirectAttributes) {
+                           BindingResult bindingResult, RedirectAttributes redirectAttributes, Model model) {
 
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        crossFieldRules.validate(form, bindingResult);
         
         //  검증에 실패하면  다시 입력 폼으로
         if (bindingResult.hasErrors()) {
             log.info("errors= {} ", bindingResult);
+            addConstraints(model, ItemSaveForm.class);
             return "validation/v4/addForm";
         }
 
@@ -82,34 +121,44 @@ public class ValidationItemControllerV4 {
         public String editForm (@PathVariable Long itemId, Model model){
             Item item = itemRepository.findById(itemId);
             model.addAttribute("item", item);
+            addConstraints(model, ItemEditForm.class);
             return "validation/v4/editForm";
         }
 
     @PostMapping("/{itemId}/edit")
-    public String edit (@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemEditForm form, BindingResult bindingResult){
+    public String edit (@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemEditForm form, BindingResult bindingResult,
+                        Model model){
 
         //  특정 필드가 아닌 복합 룰
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
+        crossFieldRules.validate(form, bindingResult);
         if (bindingResult.hasErrors()) {
             log.info("errors= {} ", bindingResult);
+            addConstraints(model, ItemEditForm.class);
             return "validation/v4/editForm";
         }
         Item itemParam = new Item();
         itemParam.setItemName(form.getItemName());
         itemParam.setPrice(form.getPrice());
         itemParam.setQuantity(form.getQuantity());
+        itemParam.setVersion(form.getVersion());
 
-        itemRepository.update(itemId, itemParam);
-
+        //  수정 폼을 연 뒤에 다른 사용자가 먼저 수정했으면 덮어쓰지 않는다.
+        if (!itemRepository.update(itemId, itemParam)) {
+            bindingResult.reject("staleItem");
+            log.info("errors= {} ", bindingResult);
+            addConstraints(model, ItemEditForm.class);
+            return "validation/v4/editForm";
+        }
 
         return "redirect:/validation/v4/items/{itemId}";
     }
 
+    //  폼 검증 규칙을 브라우저에 넘겨서 제출 전에 검사한다. (/js/validation.js)
+    private void addConstraints(Model model, Class<?> formType) {
+        model.addAttribute("constraints",
+                clientConstraintExporter.json(formType, "item", LocaleContextHolder.getLocale()));
+    }
+
     }
 
 
@@ -0,0 +1,177 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 내용(상품명, 가격, 수량)의 ItemSaveForm 을 다시 검증하지 않도록 검증 결과(API 오류 목록)를 보관한다.
+ * 파트너가 같은 상품을 반복해서 보내는 경우 Bean Validation 과 복합 룰을 건너뛴다.
+ *
+ * - 키는 폼 내용 + failFast + Locale 이다. 해시로 칸을 찾고 내용 전체를 비교하므로 해시 충돌로 잘못된 결과를 돌려주지 않는다.
+ * - 병렬 검증(ItemImporter.addAll)에서 서로 막지 않도록 칸(stripe)을 나누고, 칸마다 LRU(접근 순서 LinkedHashMap)로 크기를 제한한다.
+ *   빈도를 보고 새 항목을 받을지 정하는 허용 필터(W-TinyLFU 등)는 없으므로, 한 번만 오는 상품이 많으면 자주 오는 상품도 밀려난다.
+ * - 검증 설정이 다시 로드되면(ConstraintConfigWatcher) 이전 결과는 맞지 않으므로 generation 이 바뀌면 모두 비운다.
+ *
+ * item.validation.cache (result=hit/miss) 와 item.validation.cache.size 로 적중률을 볼 수 있다.
+ */
+public class ValidationResultCache implements MeterBinder {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes;
+    private final boolean enabled;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEntries 0 이면 보관하지 않는다.
+     */
+    public ValidationResultCache(int maxEntries) {
+        this.enabled = maxEntries > 0;
+        this.stripes = new Stripe[STRIPES];
+        int perStripe = Math.max(1, (maxEntries + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    public static ValidationResultCache disabled() {
+        return new ValidationResultCache(0);
+    }
+
+    /**
+     * 보관한 결과가 있으면 돌려주고, 없으면 validation 으로 검증해서 보관한다.
+     *
+     * @param generation 검증 설정 - 이전과 다른 객체면 보관한 결과를 모두 버린다.
+     */
+    public List<ApiError> get(ItemSaveForm form, boolean failFast, Locale locale, Object generation,
+                              Supplier<List<ApiError>> validation) {
+        if (!enabled) {
+            return validation.get();
+        }
+        Key key = new Key(form, failFast, locale);
+        Stripe stripe = stripes[(key.hash ^ (key.hash >>> 16)) & (STRIPES - 1)];
+        List<ApiError> errors = stripe.get(key, generation);
+        if (errors != null) {
+            hits.increment();
+            return errors;
+        }
+        misses.increment();
+        errors = List.copyOf(validation.get());
+        stripe.put(key, errors, generation);
+        return errors;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("item.validation.cache", this, ValidationResultCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("item.validation.cache", this, ValidationResultCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("item.validation.cache.size", this, ValidationResultCache::size)
+                .register(registry);
+    }
+
+    private static class Stripe {
+
+        private final Map<Key, List<ApiError>> entries;
+        private Object generation;
+
+        Stripe(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, List<ApiError>> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized List<ApiError> get(Key key, Object generation) {
+            if (this.generation != generation) {
+                return null;
+            }
+            return entries.get(key);
+        }
+
+        synchronized void put(Key key, List<ApiError> errors, Object generation) {
+            if (this.generation != generation) {
+                entries.clear();
+                this.generation = generation;
+            }
+            entries.put(key, errors);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static class Key {
+
+        private final String itemName;
+        private final Integer price;
+        private final Integer quantity;
+        private final boolean failFast;
+        private final Locale locale;
+        private final int hash;
+
+        Key(ItemSaveForm form, boolean failFast, Locale locale) {
+            this.itemName = form.getItemName();
+            this.price = form.getPrice();
+            this.quantity = form.getQuantity();
+            this.failFast = failFast;
+            this.locale = locale;
+            this.hash = Objects.hash(itemName, price, quantity, failFast, locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return failFast == other.failFast
+                    && Objects.equals(itemName, other.itemName)
+                    && Objects.equals(price, other.price)
+                    && Objects.equals(quantity, other.quantity)
+                    && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
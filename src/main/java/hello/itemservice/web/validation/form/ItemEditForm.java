@@ -24,4 +24,7 @@ public class ItemEditForm {
     @NotNull
     private Integer quantity;
 
+    //  수정 폼을 열 때의 version - 그 사이 다른 사용자가 수정했으면 저장하지 않는다.
+    private Long version;
+
 }
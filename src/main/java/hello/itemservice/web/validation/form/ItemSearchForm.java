@@ -0,0 +1,15 @@
+package hello.itemservice.web.validation.form;
+
+import lombok.Data;
+
+/**
+ * 상품 검색 조건 - 상품명 prefix 와 가격 범위 중 하나만 사용한다.
+ */
+@Data
+public class ItemSearchForm {
+
+    private String itemName;
+    private Integer minPrice;
+    private Integer maxPrice;
+
+}
@@ -0,0 +1,167 @@
+package hello.itemservice.web.warmup;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 시작할 때 화면 템플릿을 미리 준비해서 첫 사용자가 템플릿 파싱, 식 파싱, 메시지 조회 비용을 내지 않도록 한다.
+ *
+ * 1. templates/validation 아래 모든 템플릿을 파싱해서 Thymeleaf 템플릿 캐시에 넣는다.
+ * 2. v1~v4 목록/등록/상세/수정 화면을 Locale 별로 실제로 요청한다. DispatcherServlet 초기화, 식 캐시, 메시지 조회까지 준비된다.
+ *    화면별 첫 요청과 이후 요청의 응답 시간은 item.warmup 메트릭(phase=first/steady)으로 남긴다.
+ *
+ * 메시지는 PreResolvedMessageSource 가 시작할 때 Locale 별 표로 만들어 두므로, 여기서는 렌더링 경로만 준비한다.
+ * ApplicationReadyEvent 리스너가 끝나야 readiness 가 ACCEPTING_TRAFFIC 으로 바뀌므로, 워밍업이 끝난 뒤에 트래픽을 받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "view.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class TemplateWarmup {
+
+    private static final String TEMPLATE_PREFIX = "templates/";
+    private static final String TEMPLATE_SUFFIX = ".html";
+    private static final List<String> VERSIONS = List.of("v1", "v2", "v3", "v4");
+    //  첫 요청 뒤에 보내는 요청 수 - 마지막 요청을 정상 상태 응답 시간으로 본다.
+    private static final int STEADY_REQUESTS = 5;
+
+    private final SpringTemplateEngine templateEngine;
+    private final ItemRepository itemRepository;
+    private final ValidationMetrics metrics;
+
+    @Value("${view.warmup.locales:ko,en}")
+    private String locales;
+
+    @EventListener
+    public void warmup(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        int templates = parseTemplates();
+        int pages = 0;
+        if (event.getApplicationContext() instanceof WebServerApplicationContext) {
+            int port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+            pages = requestPages(port);
+        }
+        log.info("화면 워밍업 완료 templates={}, pages={}, {}ms", templates, pages,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    /**
+     * processThrottled 는 템플릿을 파싱해서 캐시에 넣고 처리기만 만든다. 처리(렌더링)는 하지 않으므로 모델이 없어도 된다.
+     */
+    int parseTemplates() {
+        List<String> names = templateNames();
+        Context context = new Context(Locale.getDefault());
+        for (String name : names) {
+            templateEngine.processThrottled(name, context);
+        }
+        return names.size();
+    }
+
+    private static List<String> templateNames() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath:" + TEMPLATE_PREFIX + "validation/**/*" + TEMPLATE_SUFFIX);
+            List<String> names = new ArrayList<>();
+            for (Resource resource : resources) {
+                String path = resource.getURL().toString();
+                String name = path.substring(path.lastIndexOf(TEMPLATE_PREFIX) + TEMPLATE_PREFIX.length(),
+                        path.length() - TEMPLATE_SUFFIX.length());
+                names.add(name);
+            }
+            Collections.sort(names);
+            return names;
+        } catch (IOException e) {
+            log.warn("템플릿 목록을 읽지 못했습니다.", e);
+            return List.of();
+        }
+    }
+
+    private int requestPages(int port) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Optional<Long> itemId = itemRepository.stream().findAny().map(Item::getId);
+        int pages = 0;
+        for (String version : VERSIONS) {
+            String base = "/validation/" + version + "/items";
+            Map<String, String> paths = new LinkedHashMap<>();
+            paths.put(base, base);
+            paths.put(base + "/add", base + "/add");
+            itemId.ifPresent(id -> {
+                paths.put(base + "/{itemId}", base + "/" + id);
+                paths.put(base + "/{itemId}/edit", base + "/" + id + "/edit");
+            });
+            for (String locale : StringUtils.commaDelimitedListToSet(locales)) {
+                for (Map.Entry<String, String> path : paths.entrySet()) {
+                    if (request(client, port, path.getKey(), path.getValue(), locale.trim())) {
+                        pages++;
+                    }
+                }
+            }
+        }
+        return pages;
+    }
+
+    private boolean request(HttpClient client, int port, String pattern, String path, String locale) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Language", locale.replace('_', '-'))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        try {
+            long first = send(client, request);
+            long steady = first;
+            for (int i = 0; i < STEADY_REQUESTS; i++) {
+                steady = send(client, request);
+            }
+            metrics.recordWarmup(pattern, "first", first);
+            metrics.recordWarmup(pattern, "steady", steady);
+            log.debug("화면 워밍업 {} ({}) first={}us, steady={}us", path, locale, first / 1000, steady / 1000);
+            return true;
+        } catch (IOException e) {
+            log.warn("화면 워밍업 실패 {} - {}", path, e.toString());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException("status " + response.statusCode());
+        }
+        return System.nanoTime() - start;
+    }
+}
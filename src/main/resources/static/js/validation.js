@@ -0,0 +1,154 @@
+/*
+ * 서버 제약조건으로 만든 검증 규칙(form 의 data-constraints, ClientConstraintExporter)으로 제출 전에 폼을 검사한다.
+ * 오류가 있으면 제출하지 않고 서버와 같은 메시지를 보여준다. 통과하면 그대로 제출하고, 서버는 항상 다시 검증한다.
+ */
+(function () {
+    'use strict';
+
+    var INT_MIN = -2147483648;
+    var INT_MAX = 2147483647;
+
+    //  서버(CustomNumberEditor)처럼 공백을 지우고 정수로 바꾼다. 빈 값은 null, 정수가 아니면 NaN
+    function toInteger(raw) {
+        var text = raw.replace(/\s/g, '');
+        if (text === '') {
+            return null;
+        }
+        if (!/^[-+]?\d+$/.test(text)) {
+            return NaN;
+        }
+        var value = Number(text);
+        return value < INT_MIN || value > INT_MAX ? NaN : value;
+    }
+
+    function isValid(constraint, raw) {
+        if (constraint.integer) {
+            return !isNaN(toInteger(raw));
+        }
+        if (constraint.required && (constraint.trim ? raw.trim() : raw) === '') {
+            return false;
+        }
+        var number = toInteger(raw);
+        if (number === null || isNaN(number)) {
+            return true;
+        }
+        return (constraint.min === undefined || number >= constraint.min)
+            && (constraint.max === undefined || number <= constraint.max);
+    }
+
+    function evaluate(node, values) {
+        if (node.value !== undefined) {
+            return node.value;
+        }
+        if (node.field !== undefined) {
+            return values[node.field];
+        }
+        var args = node.args.map(function (arg) {
+            return evaluate(arg, values);
+        });
+        switch (node.op) {
+            case '+': return args.length === 1 ? args[0] : args[0] + args[1];
+            case '-': return args.length === 1 ? -args[0] : args[0] - args[1];
+            case '*': return args[0] * args[1];
+            case '==': return args[0] === args[1];
+            case '!=': return args[0] !== args[1];
+            case '<': return args[0] < args[1];
+            case '<=': return args[0] <= args[1];
+            case '>': return args[0] > args[1];
+            case '>=': return args[0] >= args[1];
+            case 'and': return args[0] && args[1];
+            case 'or': return args[0] || args[1];
+            case '!': return !args[0];
+        }
+        throw new Error('unknown operator ' + node.op);
+    }
+
+    //  MessageFormat 처럼 숫자는 천 단위 구분 기호를 넣는다.
+    function format(message, args) {
+        return message.replace(/\{(\d+)\}/g, function (placeholder, index) {
+            return Number(args[index]).toLocaleString(document.documentElement.lang || undefined);
+        });
+    }
+
+    function validate(form, constraints) {
+        var fieldErrors = {};
+        var globalErrors = [];
+        var values = {};
+
+        Object.keys(constraints.fields).forEach(function (name) {
+            var input = form.elements[name];
+            if (!input) {
+                return;
+            }
+            var messages = [];
+            constraints.fields[name].some(function (constraint) {
+                if (!isValid(constraint, input.value)) {
+                    messages.push(constraint.message);
+                    //  typeMismatch 가 나면 서버도 그 필드의 나머지 제약조건을 검사하지 않는다.
+                    return constraint.integer;
+                }
+                return false;
+            });
+            if (messages.length > 0) {
+                fieldErrors[name] = messages;
+            }
+        });
+
+        constraints.rules.forEach(function (rule) {
+            var complete = rule.fields.every(function (name) {
+                var input = form.elements[name];
+                var value = input ? toInteger(input.value) : null;
+                values[name] = value;
+                return value !== null && !isNaN(value);
+            });
+            if (complete && !evaluate(rule.condition, values)) {
+                globalErrors.push(format(rule.message, rule.arguments.map(function (arg) {
+                    return evaluate(arg, values);
+                })));
+            }
+        });
+        return {fields: fieldErrors, global: globalErrors};
+    }
+
+    //  이전에 보여준 오류(서버가 렌더링한 오류 포함)를 지운다.
+    function clear(form) {
+        form.querySelectorAll('div.field-error, p.field-error').forEach(function (element) {
+            element.remove();
+        });
+        form.querySelectorAll('.form-control.field-error').forEach(function (element) {
+            element.classList.remove('field-error');
+        });
+    }
+
+    function show(form, errors) {
+        Object.keys(errors.fields).forEach(function (name) {
+            var input = form.elements[name];
+            var message = document.createElement('div');
+            message.className = 'field-error';
+            message.textContent = errors.fields[name].join(' ');
+            input.classList.add('field-error');
+            input.insertAdjacentElement('afterend', message);
+        });
+        errors.global.slice().reverse().forEach(function (text) {
+            var message = document.createElement('p');
+            message.className = 'field-error';
+            message.textContent = text;
+            form.insertAdjacentElement('afterbegin', message);
+        });
+    }
+
+    document.querySelectorAll('form[data-constraints]').forEach(function (form) {
+        var constraints = JSON.parse(form.getAttribute('data-constraints'));
+        form.setAttribute('novalidate', '');
+        form.addEventListener('submit', function (event) {
+            var errors = validate(form, constraints);
+            if (Object.keys(errors.fields).length > 0 || errors.global.length > 0) {
+                event.preventDefault();
+                clear(form);
+                show(form, errors);
+            }
+        });
+    });
+
+    window.itemValidation = {validate: validate};
+})();
@@ -0,0 +1,224 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemRepositoryTest extends ItemRepositoryContractTest {
+
+    @Override
+    ItemRepository createRepository() {
+        return new ColumnarItemRepository();
+    }
+
+    @Test
+    void save() {
+        //given
+        Item item = new Item("itemA", 10000, 10);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+    }
+
+    @Test
+    void saveNullFields() {
+        //given
+        Item item = new Item(null, null, null);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+    }
+
+    @Test
+    void findAll() {
+        //given
+        Item item1 = new Item("item1", 10000, 10);
+        Item item2 = new Item("item2", 20000, 20);
+
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        //when
+        List<Item> result = itemRepository.findAll();
+
+        //then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result).contains(item1, item2);
+    }
+
+    @Test
+    void findAfterClear() {
+        //given
+        Item oldItem = itemRepository.save(new Item("old", 10000, 10));
+        itemRepository.clearStore();
+
+        //when
+        Item newItem = itemRepository.save(new Item("new", 20000, 20));
+
+        //then
+        assertThat(itemRepository.findById(oldItem.getId())).isNull();
+        assertThat(itemRepository.findById(newItem.getId())).isEqualTo(newItem);
+        assertThat(itemRepository.findAll()).containsExactly(newItem);
+    }
+
+    @Test
+    void updateItem() {
+        //given
+        Item item = new Item("item1", 10000, 10);
+
+        Item savedItem = itemRepository.save(item);
+        Long itemId = savedItem.getId();
+
+        //when
+        Item updateParam = new Item("item2", 20000, 30);
+        itemRepository.update(itemId, updateParam);
+
+        Item findItem = itemRepository.findById(itemId);
+
+        //then
+        assertThat(findItem.getItemName()).isEqualTo(updateParam.getItemName());
+        assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
+        assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
+    }
+
+    @Test
+    void findPage() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("item3", 30000, 30));
+
+        //when
+        ItemPage first = itemRepository.findPage(0L, 2);
+        ItemPage second = itemRepository.findPage(first.getNextAfter(), 2);
+
+        //then
+        assertThat(first.getItems()).containsExactly(item1, item2);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getItems()).containsExactly(item3);
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void stream() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+
+        //when
+        List<Item> result = itemRepository.stream().collect(Collectors.toList());
+
+        //then
+        assertThat(result).containsExactly(item1, item2);
+    }
+
+    @Test
+    void saveAll() {
+        //given
+        Item item1 = new Item("item1", 10000, 10);
+        Item item2 = new Item("item2", 20000, 20);
+
+        //when
+        itemRepository.saveAll(List.of(item1, item2));
+
+        //then
+        assertThat(item2.getId()).isEqualTo(item1.getId() + 1);
+        assertThat(itemRepository.findById(item1.getId())).isEqualTo(item1);
+        assertThat(itemRepository.findById(item2.getId())).isEqualTo(item2);
+    }
+
+    @Test
+    void findByItemNamePrefixAndPriceRange() {
+        //given
+        Item itemB = itemRepository.save(new Item("itemB", 30000, 10));
+        Item itemA = itemRepository.save(new Item("itemA", 20000, 20));
+        itemRepository.save(new Item("other", 10000, 30));
+
+        //when
+        List<Item> byName = itemRepository.findByItemNamePrefix("item", 10);
+        List<Item> byPrice = itemRepository.findByPriceRange(10000, 20000, 10);
+
+        //then
+        assertThat(byName).extracting("itemName").containsExactly("itemA", "itemB");
+        assertThat(byPrice).extracting("itemName").containsExactly("other", "itemA");
+    }
+
+    @Test
+    void searchAfterUpdate() {
+        //given
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 10000, 20));
+
+        //when
+        itemRepository.update(itemA.getId(), new Item("other", 30000, 10));
+
+        //then - 바뀌기 전 상품명/가격으로는 더 이상 찾지 않는다.
+        assertThat(itemRepository.findByItemNamePrefix("item", 10)).extracting("id").containsExactly(itemB.getId());
+        assertThat(itemRepository.findByItemNamePrefix("other", 10)).extracting("id").containsExactly(itemA.getId());
+        assertThat(itemRepository.findByPriceRange(10000, 10000, 10)).extracting("id").containsExactly(itemB.getId());
+        assertThat(itemRepository.findByPriceRange(20000, 40000, 10)).extracting("id").containsExactly(itemA.getId());
+    }
+
+    @Test
+    void searchAfterClear() {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.clearStore();
+        Item itemB = itemRepository.save(new Item("itemB", 10000, 10));
+
+        //then
+        assertThat(itemRepository.findByItemNamePrefix("item", 10)).extracting("id").containsExactly(itemB.getId());
+        assertThat(itemRepository.findByPriceRange(0, 20000, 10)).extracting("id").containsExactly(itemB.getId());
+    }
+
+    @Test
+    void releaseReplacedName() {
+        //given
+        ColumnarItemRepository repository = new ColumnarItemRepository();
+        Item itemA = repository.save(new Item("itemA", 10000, 10));
+        Item itemB = repository.save(new Item("itemA", 10000, 10));
+
+        //when
+        repository.update(itemA.getId(), new Item("itemB", 10000, 10));
+        int sharedName = repository.nameCount();
+        repository.update(itemB.getId(), new Item("itemC", 10000, 10));
+
+        //then - 아무 상품도 쓰지 않는 이름은 풀에 남지 않는다.
+        assertThat(sharedName).isEqualTo(2);
+        assertThat(repository.nameCount()).isEqualTo(2);
+        assertThat(repository.findById(itemA.getId()).getItemName()).isEqualTo("itemB");
+        assertThat(repository.findById(itemB.getId()).getItemName()).isEqualTo("itemC");
+    }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Item updateParam = new Item("item2", 20000, 20);
+        updateParam.setVersion(savedItem.getVersion());
+
+        //when
+        boolean updated = itemRepository.update(savedItem.getId(), updateParam);
+        boolean staleUpdated = itemRepository.update(savedItem.getId(), updateParam);
+
+        //then
+        assertThat(updated).isTrue();
+        assertThat(staleUpdated).isFalse();
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(2L);
+    }
+}
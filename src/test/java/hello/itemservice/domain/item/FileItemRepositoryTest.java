@@ -0,0 +1,296 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FileItemRepositoryTest {
+
+    private static final int LOG_SIZE = 1 << 20;
+
+    @TempDir
+    Path directory;
+
+    List<FileItemRepository> opened = new ArrayList<>();
+
+    @AfterEach
+    void afterEach() throws IOException {
+        for (FileItemRepository repository : opened) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void save() throws IOException {
+        //given
+        FileItemRepository itemRepository = open(LOG_SIZE);
+        Item item = new Item("itemA", 10000, 10);
+
+        //when
+        Item savedItem = itemRepository.save(item);
+
+        //then
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem).isEqualTo(savedItem);
+    }
+
+    @Test
+    void recoverFromLog() throws IOException {
+        //given
+        FileItemRepository itemRepository = open(LOG_SIZE);
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item(null, null, null));
+        itemRepository.update(itemA.getId(), new Item("item2", 20000, 30));
+
+        //when - close() 없이 다시 연다. (비정상 종료)
+        FileItemRepository recovered = open(LOG_SIZE);
+
+        //then
+        Item findItem = recovered.findById(itemA.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getQuantity()).isEqualTo(30);
+        assertThat(findItem.getVersion()).isEqualTo(2L);
+        assertThat(recovered.findById(itemB.getId())).isEqualTo(itemB);
+        assertThat(recovered.save(new Item("itemC", 10000, 10)).getId()).isEqualTo(itemB.getId() + 1);
+    }
+
+    @Test
+    void recoverClearStore() throws IOException {
+        //given
+        FileItemRepository itemRepository = open(LOG_SIZE);
+        itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 20));
+        itemRepository.clearStore();
+
+        //when
+        FileItemRepository recovered = open(LOG_SIZE);
+
+        //then
+        assertThat(recovered.findAll()).isEmpty();
+        assertThat(recovered.save(new Item("itemC", 10000, 10)).getId()).isEqualTo(itemB.getId() + 1);
+    }
+
+    @Test
+    void compaction() throws IOException {
+        //given - 로그 크기보다 많이 저장해서 여러 번 압축되도록 한다.
+        FileItemRepository itemRepository = open(4096);
+        for (int i = 0; i < 1000; i++) {
+            itemRepository.save(new Item("item" + i, 10000, i));
+        }
+        itemRepository.update(1L, new Item("updated", 20000, 20));
+
+        //when
+        FileItemRepository recovered = open(4096);
+
+        //then
+        assertThat(recovered.findAll()).hasSize(1000);
+        assertThat(recovered.findById(1L).getItemName()).isEqualTo("updated");
+        assertThat(recovered.findById(1000L).getQuantity()).isEqualTo(999);
+        assertThat(Files.exists(directory.resolve(FileItemRepository.SNAPSHOT_FILE))).isTrue();
+    }
+
+    @Test
+    void saveAllAcrossCompaction() throws IOException {
+        //given - 한 번의 saveAll 이 로그를 여러 번 채운다.
+        FileItemRepository itemRepository = open(4096);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        itemRepository.saveAll(items);
+        FileItemRepository recovered = open(4096);
+
+        //then
+        assertThat(recovered.findAll()).hasSize(1000);
+        assertThat(recovered.findById(1000L).getQuantity()).isEqualTo(999);
+    }
+
+    @Test
+    void rejectedWriteKeepsMemory() throws IOException {
+        //given
+        FileItemRepository itemRepository = open(256);
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when - 로그에 기록하지 못한 쓰기는 메모리에도 반영하지 않는다.
+        assertThatThrownBy(() -> itemRepository.save(new Item("x".repeat(1000), 10000, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> itemRepository.update(itemA.getId(), new Item("x".repeat(1000), 20000, 20)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        //then - 다시 시작해도 같은 상태다.
+        assertThat(itemRepository.findAll()).containsExactly(itemA);
+        FileItemRepository recovered = open(256);
+        assertThat(recovered.findAll()).containsExactly(itemA);
+        assertThat(recovered.save(new Item("itemB", 10000, 10)).getId()).isEqualTo(itemA.getId() + 1);
+    }
+
+    @Test
+    void recoverFromSnapshot() throws IOException {
+        //given
+        FileItemRepository itemRepository = open(LOG_SIZE);
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        //when - 정상 종료하면 스냅샷을 만들고, 이전 세대 로그는 재생하지 않는다.
+        itemRepository.close();
+        opened.remove(itemRepository);
+        FileItemRepository recovered = open(LOG_SIZE);
+
+        //then
+        assertThat(recovered.findAll()).extracting("itemName").containsExactlyInAnyOrder("itemA", "itemB");
+    }
+
+    @Test
+    void ignoreTornRecord() throws IOException {
+        //given
+        FileItemRepository itemRepository = open(LOG_SIZE);
+        itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("itemB", 20000, 20));
+
+        //when - 마지막 레코드의 payload 일부가 디스크에 쓰이지 않은 상황
+        try (FileChannel channel = FileChannel.open(directory.resolve(FileItemRepository.LOG_FILE),
+                StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            long lastRecord = findLastRecordStart(channel);
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), lastRecord + 12);
+        }
+        FileItemRepository recovered = open(LOG_SIZE);
+
+        //then
+        assertThat(recovered.findAll()).extracting("itemName").containsExactly("itemA");
+        assertThat(recovered.findById(itemB.getId())).isNull();
+    }
+
+    @Test
+    void migrateLegacyFormat() throws IOException {
+        //given - version 이 없던 형식의 스냅샷(세대 3, itemA)과 로그(itemB)
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(snapshot);
+        out.writeInt(0x4954454D);
+        out.writeLong(3L);
+        out.writeLong(1L);
+        out.writeLong(0L);
+        out.writeBoolean(true);
+        writeLegacyItem(out, 1L, "itemA", 10000, 10);
+        out.writeBoolean(false);
+        CRC32 crc = new CRC32();
+        crc.update(snapshot.toByteArray());
+        out.writeLong(crc.getValue());
+        Files.write(directory.resolve(FileItemRepository.SNAPSHOT_FILE), snapshot.toByteArray());
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(payload);
+        record.writeByte(1);
+        writeLegacyItem(record, 2L, "itemB", 20000, 20);
+        CRC32 recordCrc = new CRC32();
+        recordCrc.update(ByteBuffer.allocate(Long.BYTES).putLong(3L).array());
+        recordCrc.update(payload.toByteArray());
+        ByteBuffer log = ByteBuffer.allocate(8 + payload.size())
+                .putInt(payload.size()).putInt((int) recordCrc.getValue()).put(payload.toByteArray());
+        Files.write(directory.resolve(FileItemRepository.LOG_FILE), log.array());
+
+        //when
+        FileItemRepository itemRepository = open(LOG_SIZE);
+        itemRepository.update(2L, new Item("itemB2", 30000, 30));
+        itemRepository.close();
+        opened.remove(itemRepository);
+        FileItemRepository reopened = open(LOG_SIZE);
+
+        //then - 이전 형식은 version 1 로 읽고, 압축한 뒤에는 새 형식으로 읽는다.
+        assertThat(reopened.findById(1L).getItemName()).isEqualTo("itemA");
+        assertThat(reopened.findById(1L).getVersion()).isEqualTo(1L);
+        assertThat(reopened.findById(2L).getItemName()).isEqualTo("itemB2");
+        assertThat(reopened.findById(2L).getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void refuseUnknownFormat() throws IOException {
+        //given - 스냅샷이 아닌 파일
+        byte[] unknown = "not a snapshot file".getBytes(StandardCharsets.UTF_8);
+        Files.write(directory.resolve(FileItemRepository.SNAPSHOT_FILE), unknown);
+
+        //when, then - 시작하지 않고, 파일도 그대로 둔다.
+        assertThatThrownBy(() -> open(LOG_SIZE)).isInstanceOf(IllegalStateException.class);
+        assertThat(Files.readAllBytes(directory.resolve(FileItemRepository.SNAPSHOT_FILE))).isEqualTo(unknown);
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        FileItemRepository itemRepository = open(LOG_SIZE);
+        int threads = 8;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    itemRepository.save(new Item("item", 10000, i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        FileItemRepository recovered = open(LOG_SIZE);
+
+        //then
+        assertThat(recovered.findAll()).hasSize(threads * perThread);
+    }
+
+    private FileItemRepository open(int logSize) throws IOException {
+        FileItemRepository repository = new FileItemRepository(directory.toString(), logSize, true);
+        opened.add(repository);
+        return repository;
+    }
+
+    private static void writeLegacyItem(DataOutputStream out, long id, String name, int price, int quantity)
+            throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeLong(id);
+        out.writeInt(0);
+        out.writeInt(price);
+        out.writeInt(quantity);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static long findLastRecordStart(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long position = 0;
+        long last = 0;
+        while (true) {
+            header.clear();
+            channel.read(header, position);
+            int length = header.getInt(0);
+            if (length <= 0) {
+                return last;
+            }
+            last = position;
+            position += 8 + length;
+        }
+    }
+}
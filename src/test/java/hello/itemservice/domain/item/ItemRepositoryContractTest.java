@@ -0,0 +1,72 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 저장소 구현마다 같아야 하는 동작. 구현별 테스트(ItemRepositoryTest, ColumnarItemRepositoryTest)가 상속한다.
+ */
+abstract class ItemRepositoryContractTest {
+
+    ItemRepository itemRepository = createRepository();
+
+    abstract ItemRepository createRepository();
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void catalogVersion() {
+        //given
+        CatalogVersion initial = itemRepository.catalogVersion();
+
+        //when
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        CatalogVersion saved = itemRepository.catalogVersion();
+        Item updateParam = new Item("item2", 20000, 20);
+        updateParam.setVersion(savedItem.getVersion());
+        itemRepository.update(savedItem.getId(), updateParam);
+        CatalogVersion updated = itemRepository.catalogVersion();
+        itemRepository.update(savedItem.getId(), updateParam);
+
+        //then - 바뀌지 않은 수정(version 불일치)은 변경 번호를 올리지 않는다.
+        assertThat(saved.getVersion()).isGreaterThan(initial.getVersion());
+        assertThat(updated.getVersion()).isGreaterThan(saved.getVersion());
+        assertThat(itemRepository.catalogVersion()).isSameAs(updated);
+    }
+
+    @Test
+    void catalogVersionAfterClear() {
+        //given
+        itemRepository.save(new Item("item1", 10000, 10));
+        CatalogVersion saved = itemRepository.catalogVersion();
+
+        //when
+        itemRepository.clearStore();
+
+        //then
+        assertThat(itemRepository.catalogVersion().getVersion()).isGreaterThan(saved.getVersion());
+    }
+
+    @Test
+    void findReturnsCopy() {
+        //given
+        Item savedItem = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when - 조회한 Item 을 고쳐도
+        itemRepository.findById(savedItem.getId()).setItemName("changed");
+        itemRepository.findAll().get(0).setPrice(1);
+        itemRepository.findByItemNamePrefix("item", 10).get(0).setQuantity(1);
+
+        //then - 저장된 상품과 인덱스는 그대로다.
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("itemA");
+        assertThat(findItem.getPrice()).isEqualTo(10000);
+        assertThat(findItem.getQuantity()).isEqualTo(10);
+        assertThat(itemRepository.findByItemNamePrefix("changed", 10)).isEmpty();
+    }
+}
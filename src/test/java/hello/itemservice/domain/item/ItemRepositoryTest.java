@@ -1,19 +1,22 @@
 package hello.itemservice.domain.item;
 
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
 
-class ItemRepositoryTest {
+class ItemRepositoryTest extends ItemRepositoryContractTest {
 
-    ItemRepository itemRepository = new ItemRepository();
-
-    @AfterEach
-    void afterEach() {
-        itemRepository.clearStore();
+    @Override
+    ItemRepository createRepository() {
+        return new MemoryItemRepository();
     }
 
     @Test
@@ -65,4 +68,214 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void concurrentSave() throws InterruptedException {
+        //given
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        int savesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < savesPerThread; i++) {
+                    itemRepository.save(new Item("item" + i, 10000, 10));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        //then
+        List<Item> result = itemRepository.findAll();
+        Set<Long> ids = result.stream().map(Item::getId).collect(Collectors.toSet());
+        assertThat(result.size()).isEqualTo(threads * savesPerThread);
+        assertThat(ids).hasSize(threads * savesPerThread);
+    }
+
+    @Test
+    void concurrentUpdate() throws InterruptedException {
+        //given
+        Item savedItem = itemRepository.save(new Item("item", 0, 0));
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            int value = t;
+            executor.submit(() -> itemRepository.update(savedItem.getId(), new Item("item" + value, value, value)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        //then
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item" + findItem.getPrice());
+        assertThat(findItem.getQuantity()).isEqualTo(findItem.getPrice());
+    }
+
+    @Test
+    void findPage() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+        Item item3 = itemRepository.save(new Item("item3", 30000, 30));
+
+        //when
+        ItemPage first = itemRepository.findPage(0L, 2);
+        ItemPage second = itemRepository.findPage(first.getNextAfter(), 2);
+
+        //then
+        assertThat(first.getItems()).containsExactly(item1, item2);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(second.getItems()).containsExactly(item3);
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void stream() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 10000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 20000, 20));
+
+        //when
+        List<Item> result = itemRepository.stream().collect(Collectors.toList());
+
+        //then
+        assertThat(result).containsExactly(item1, item2);
+    }
+
+    @Test
+    void saveAll() {
+        //given
+        Item item1 = new Item("item1", 10000, 10);
+        Item item2 = new Item("item2", 20000, 20);
+
+        //when
+        itemRepository.saveAll(List.of(item1, item2));
+
+        //then
+        assertThat(item2.getId()).isEqualTo(item1.getId() + 1);
+        assertThat(itemRepository.findById(item1.getId())).isEqualTo(item1);
+        assertThat(itemRepository.findById(item2.getId())).isEqualTo(item2);
+    }
+
+    @Test
+    void findByItemNamePrefix() {
+        //given
+        Item itemB = itemRepository.save(new Item("itemB", 10000, 10));
+        Item itemA = itemRepository.save(new Item("itemA", 20000, 20));
+        Item itemA2 = itemRepository.save(new Item("itemA", 30000, 30));
+        itemRepository.save(new Item("other", 10000, 10));
+        itemRepository.save(new Item(null, 10000, 10));
+
+        //when
+        List<Item> result = itemRepository.findByItemNamePrefix("item", 10);
+
+        //then
+        assertThat(result).containsExactly(itemA, itemA2, itemB);
+        assertThat(itemRepository.findByItemNamePrefix("item", 2)).containsExactly(itemA, itemA2);
+    }
+
+    @Test
+    void findByPriceRange() {
+        //given
+        Item item1 = itemRepository.save(new Item("item1", 30000, 10));
+        Item item2 = itemRepository.save(new Item("item2", 10000, 20));
+        Item item3 = itemRepository.save(new Item("item3", 20000, 30));
+        itemRepository.save(new Item("item4", 40000, 40));
+        itemRepository.save(new Item("item5", null, 50));
+
+        //when
+        List<Item> result = itemRepository.findByPriceRange(10000, 30000, 10);
+
+        //then
+        assertThat(result).containsExactly(item2, item3, item1);
+    }
+
+    @Test
+    void updateIndex() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.update(item.getId(), new Item("changed", 50000, 10));
+
+        //then
+        assertThat(itemRepository.findByItemNamePrefix("item", 10)).isEmpty();
+        assertThat(itemRepository.findByItemNamePrefix("change", 10)).extracting("id").containsExactly(item.getId());
+        assertThat(itemRepository.findByPriceRange(0, 20000, 10)).isEmpty();
+        assertThat(itemRepository.findByPriceRange(50000, 50000, 10)).extracting("id").containsExactly(item.getId());
+    }
+
+    @Test
+    void updateWithVersion() {
+        //given
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Item before = itemRepository.findById(savedItem.getId());
+
+        Item updateParam = new Item("item2", 20000, 20);
+        updateParam.setVersion(savedItem.getVersion());
+        Item staleParam = new Item("item3", 30000, 30);
+        staleParam.setVersion(savedItem.getVersion());
+
+        //when
+        boolean updated = itemRepository.update(savedItem.getId(), updateParam);
+        boolean staleUpdated = itemRepository.update(savedItem.getId(), staleParam);
+
+        //then
+        assertThat(updated).isTrue();
+        assertThat(staleUpdated).isFalse();
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item2");
+        assertThat(findItem.getVersion()).isEqualTo(savedItem.getVersion() + 1);
+        //  이전에 조회한 Item 은 바뀌지 않는다.
+        assertThat(before.getItemName()).isEqualTo("item1");
+        assertThat(before.getVersion()).isEqualTo(savedItem.getVersion());
+    }
+
+    @Test
+    void updateMissingItem() {
+        //when
+        boolean updated = itemRepository.update(999L, new Item("item", 10000, 10));
+
+        //then
+        assertThat(updated).isFalse();
+    }
+
+    @Test
+    void concurrentVersionedUpdate() throws InterruptedException {
+        //given - 모든 스레드가 같은 상품의 수량을 1씩 올린다. 실패하면 다시 조회해서 재시도한다.
+        Item savedItem = itemRepository.save(new Item("item", 10000, 0));
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        int incrementsPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    boolean updated;
+                    do {
+                        Item current = itemRepository.findById(savedItem.getId());
+                        Item updateParam = new Item(current.getItemName(), current.getPrice(), current.getQuantity() + 1);
+                        updateParam.setVersion(current.getVersion());
+                        updated = itemRepository.update(savedItem.getId(), updateParam);
+                    } while (!updated);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        //then - 잃어버린 수정이 없다.
+        Item findItem = itemRepository.findById(savedItem.getId());
+        assertThat(findItem.getQuantity()).isEqualTo(threads * incrementsPerThread);
+        assertThat(findItem.getVersion()).isEqualTo(1L + threads * incrementsPerThread);
+    }
 }
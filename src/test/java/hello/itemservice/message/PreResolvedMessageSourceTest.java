@@ -0,0 +1,66 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PreResolvedMessageSourceTest {
+
+    ResourceBundleMessageSource expected = new ResourceBundleMessageSource();
+    PreResolvedMessageSource actual = new PreResolvedMessageSource();
+
+    @BeforeEach
+    void beforeEach() {
+        expected.setBasenames("messages", "errors");
+        expected.setDefaultEncoding("UTF-8");
+        actual.setBasenames("messages", "errors");
+        actual.setDefaultEncoding("UTF-8");
+        actual.preResolve(List.of(Locale.KOREAN, Locale.ENGLISH));
+    }
+
+    @Test
+    void sameMessages() throws IOException {
+        Object[] args = {10000, 500};
+        for (String basename : List.of("messages", "errors")) {
+            for (String code : keys(basename)) {
+                for (Locale locale : List.of(Locale.KOREAN, Locale.ENGLISH, Locale.JAPANESE)) {
+                    assertThat(actual.getMessage(code, null, locale)).isEqualTo(expected.getMessage(code, null, locale));
+                    assertThat(actual.getMessage(code, args, locale)).isEqualTo(expected.getMessage(code, args, locale));
+                }
+            }
+        }
+    }
+
+    @Test
+    void resolvableWalksCodes() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"max.itemSaveForm.quantity", "max.quantity", "max.java.lang.Integer", "max"},
+                new Object[]{9999});
+
+        assertThat(actual.getMessage(resolvable, Locale.KOREAN)).isEqualTo("9,999 까지의 숫자를 허용합니다.");
+    }
+
+    @Test
+    void notFoundCodeUsesDefaultMessage() {
+        assertThat(actual.getMessage("no_code", null, "기본 메시지", Locale.KOREAN)).isEqualTo("기본 메시지");
+    }
+
+    private static Iterable<String> keys(String basename) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = PreResolvedMessageSourceTest.class.getResourceAsStream("/" + basename + ".properties")) {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        return properties.stringPropertyNames();
+    }
+}
@@ -0,0 +1,127 @@
+package hello.itemservice.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.web.validation.form.ItemEditForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClientConstraintExporterTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+
+    CompiledValidator validator;
+    CrossFieldRules crossFieldRules;
+    ClientConstraintExporter exporter;
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.destroy();
+    }
+
+    ClientConstraintExporterTest() {
+        Map<String, ValidationRuleProperties.Rule> rules = Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity"));
+        validator = new CompiledValidator(beanValidator, List.of(ItemSaveForm.class, ItemEditForm.class));
+        crossFieldRules = new CrossFieldRules(rules, List.of(ItemSaveForm.class, ItemEditForm.class));
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        exporter = new ClientConstraintExporter(validator, crossFieldRules, messageSource, new ObjectMapper());
+    }
+
+    @Test
+    void fieldConstraints() {
+        //when
+        ClientConstraints constraints = exporter.export(ItemSaveForm.class, "item", Locale.KOREA);
+
+        //then
+        List<ClientConstraints.FieldConstraint> itemName = constraints.getFields().get("itemName");
+        assertThat(itemName).hasSize(1);
+        assertThat(itemName.get(0).getRequired()).isTrue();
+        assertThat(itemName.get(0).getTrim()).isTrue();
+
+        //  typeMismatch 가 먼저, @Range 는 구성 제약조건(@Min, @Max)을 합쳐서 하나로
+        List<ClientConstraints.FieldConstraint> price = constraints.getFields().get("price");
+        assertThat(price).extracting("integer").containsExactlyInAnyOrder(true, null, null);
+        assertThat(price.get(0).getMessage()).isEqualTo("숫자를 입력해주세요.");
+        assertThat(price).filteredOn(constraint -> constraint.getMin() != null)
+                .singleElement()
+                .satisfies(range -> {
+                    assertThat(range.getMin()).isEqualTo(1000L);
+                    assertThat(range.getMax()).isEqualTo(10000000L);
+                    assertThat(range.getMessage()).contains("1000", "10000000");
+                });
+
+        List<ClientConstraints.FieldConstraint> quantity = constraints.getFields().get("quantity");
+        assertThat(quantity).filteredOn(constraint -> constraint.getMax() != null)
+                .singleElement()
+                .satisfies(max -> assertThat(max.getMax()).isEqualTo(9999L));
+    }
+
+    @Test
+    void rule() {
+        //when
+        ClientConstraints constraints = exporter.export(ItemSaveForm.class, "item", Locale.KOREA);
+
+        //then
+        ClientConstraints.Rule rule = constraints.getRules().get(0);
+        assertThat(rule.getCode()).isEqualTo("totalPriceMin");
+        assertThat(rule.getFields()).containsExactly("price", "quantity");
+        assertThat(rule.getCondition()).isEqualTo(Map.of("op", ">=", "args", List.of(
+                Map.of("op", "*", "args", List.of(Map.of("field", "price"), Map.of("field", "quantity"))),
+                Map.of("value", 10000))));
+        assertThat(rule.getMessage()).isEqualTo("상품의 가격 * 수량의 합은 {0}원 이상이어야 합니다. 현재 값 = {1}");
+    }
+
+    @Test
+    void rebuildAfterReload() {
+        //given
+        String before = exporter.json(ItemSaveForm.class, "item", Locale.KOREA);
+        assertThat(exporter.json(ItemSaveForm.class, "item", Locale.KOREA)).isSameAs(before);
+
+        //when
+        Properties properties = new Properties();
+        properties.setProperty("ItemSaveForm.price.Range.max", "20000000");
+        ConstraintOverrides overrides = new ConstraintOverrides(properties);
+        validator.apply(validator.prepare(overrides));
+
+        //then
+        String after = exporter.json(ItemSaveForm.class, "item", Locale.KOREA);
+        assertThat(after).contains("20000000").doesNotContain("10000000");
+    }
+
+    @Test
+    void boundedCache() {
+        //given - 클라이언트가 보낸 Locale 이 매번 달라도
+        for (int i = 0; i < 100; i++) {
+            exporter.json(ItemSaveForm.class, "item", new Locale("x" + i));
+        }
+
+        //when
+        String first = exporter.json(ItemSaveForm.class, "item", new Locale("y"));
+        String second = exporter.json(ItemSaveForm.class, "item", new Locale("y"));
+
+        //then - 가득 찬 뒤의 Locale 은 캐시하지 않는다.
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(exporter.json(ItemSaveForm.class, "item", new Locale("x0")))
+                .isSameAs(exporter.json(ItemSaveForm.class, "item", new Locale("x0")));
+    }
+}
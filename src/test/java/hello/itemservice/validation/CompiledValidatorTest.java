@@ -0,0 +1,199 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.web.validation.form.ItemEditForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * CompiledValidator 와 Hibernate Validator(SpringValidatorAdapter)의 검증 결과가 같은지 확인한다.
+ */
+class CompiledValidatorTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+    static CompiledValidator compiledValidator;
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        compiledValidator = new CompiledValidator(beanValidator,
+                List.of(Item.class, ItemSaveForm.class, ItemEditForm.class));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.destroy();
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void compiled() {
+        assertThat(compiledValidator.isCompiled(ItemSaveForm.class)).isTrue();
+        assertThat(compiledValidator.isCompiled(ItemEditForm.class)).isTrue();
+        assertThat(compiledValidator.isCompiled(Item.class, SaveCheck.class)).isTrue();
+        assertThat(compiledValidator.isCompiled(String.class)).isFalse();
+    }
+
+    @Test
+    void saveFormParity() {
+        assertParity(saveForm("itemA", 10000, 10));
+        assertParity(saveForm(null, null, null));
+        assertParity(saveForm(" ", 999, 10000));
+        assertParity(saveForm("", 10000001, 9999));
+        assertParity(saveForm("itemA", 1000, -1));
+    }
+
+    @Test
+    void editFormParity() {
+        assertParity(editForm(1L, "itemA", 10000, 10));
+        assertParity(editForm(null, null, null, null));
+        assertParity(editForm(1L, " ", 999, 100000));
+    }
+
+    @Test
+    void itemGroupParity() {
+        Item item = new Item(" ", 0, 10001);
+        assertParity(item);
+        assertParity(item, SaveCheck.class);
+    }
+
+    @Test
+    void localeParity() {
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+        assertParity(saveForm(" ", 0, 10000));
+        LocaleContextHolder.setLocale(Locale.KOREA);
+        assertParity(saveForm(" ", 0, 10000));
+    }
+
+    @Test
+    void bindingFailureIsKept() {
+        ItemSaveForm form = saveForm("itemA", null, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                new String[]{"typeMismatch"}, null, null));
+
+        compiledValidator.validate(form, bindingResult);
+
+        assertThat(bindingResult.getFieldErrors("price")).hasSize(1);
+        assertThat(bindingResult.getFieldError("price").isBindingFailure()).isTrue();
+    }
+
+    @Test
+    void failFast() {
+        //given - 상품명, 가격, 수량이 모두 잘못됨
+        ItemSaveForm form = saveForm(" ", 0, 10000);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        compiledValidator.validate(form, bindingResult, FailFast.class);
+
+        //then
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failFastWithGroup() {
+        //given
+        ItemSaveForm form = saveForm(" ", 0, 10000);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when - FailFast 는 그룹으로 취급하지 않는다.
+        compiledValidator.validate(form, bindingResult, Default.class, FailFast.class);
+
+        //then
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failFastNotCompiledType() {
+        //given - 등록하지 않은 타입은 Hibernate Validator failFast 로 검증한다.
+        NotCompiled target = new NotCompiled();
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        BindingResult full = new BeanPropertyBindingResult(target, "item");
+
+        //when
+        compiledValidator.validate(target, bindingResult, FailFast.class);
+        compiledValidator.validate(target, full);
+
+        //then
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(full.getErrorCount()).isEqualTo(2);
+    }
+
+    @Test
+    void failFastSkipsAfterBindingFailure() {
+        //given
+        ItemSaveForm form = saveForm(" ", null, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                new String[]{"typeMismatch"}, null, null));
+
+        //when
+        compiledValidator.validate(form, bindingResult, FailFast.class);
+
+        //then
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+    }
+
+    static class NotCompiled {
+
+        @NotNull
+        String first;
+        @NotNull
+        String second;
+    }
+
+    private void assertParity(Object target, Object... hints) {
+        BindingResult expected = new BeanPropertyBindingResult(target, "item");
+        BindingResult actual = new BeanPropertyBindingResult(target, "item");
+
+        beanValidator.validate(target, expected, hints);
+        compiledValidator.validate(target, actual, hints);
+
+        assertThat(describe(actual)).containsExactlyInAnyOrderElementsOf(describe(expected));
+    }
+
+    private static List<String> describe(BindingResult bindingResult) {
+        return bindingResult.getFieldErrors().stream()
+                .map(error -> error.getField() + "|" + error.getRejectedValue()
+                        + "|" + Arrays.toString(error.getCodes())
+                        + "|" + Arrays.toString(error.getArguments())
+                        + "|" + error.getDefaultMessage())
+                .collect(Collectors.toList());
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static ItemEditForm editForm(Long id, String itemName, Integer price, Integer quantity) {
+        ItemEditForm form = new ItemEditForm();
+        form.setId(id);
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
@@ -0,0 +1,226 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.form.ItemEditForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConstraintConfigWatcherTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+
+    @TempDir
+    Path directory;
+
+    CompiledValidator validator;
+    CrossFieldRules crossFieldRules;
+    ConstraintConfigWatcher watcher;
+    Path file;
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.destroy();
+    }
+
+    ConstraintConfigWatcherTest() {
+        Map<String, ValidationRuleProperties.Rule> rules = Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity"));
+        validator = new CompiledValidator(beanValidator, List.of(ItemSaveForm.class, ItemEditForm.class));
+        crossFieldRules = new CrossFieldRules(rules, List.of(ItemSaveForm.class, ItemEditForm.class));
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void overrideRange() throws IOException {
+        //given
+        write("ItemSaveForm.price.Range.max=20000000");
+        start();
+
+        //when
+        BindingResult valid = validate(saveForm(15000000, 1));
+        BindingResult invalid = validate(saveForm(20000001, 1));
+
+        //then - 검사, 오류 인자, 기본 메시지 모두 바뀐 값을 쓴다.
+        assertThat(valid.hasErrors()).isFalse();
+        FieldError error = invalid.getFieldError("price");
+        assertThat(error.getCode()).isEqualTo("Range");
+        assertThat(error.getArguments()).containsSubsequence(20000000L, 1000L);
+        assertThat(error.getDefaultMessage()).contains("20000000");
+        assertThat(validate(editForm(15000000)).hasErrors()).isTrue();
+    }
+
+    @Test
+    void overrideMax() throws IOException {
+        //given
+        write("ItemSaveForm.quantity.Max.value=100");
+        start();
+
+        //when
+        BindingResult bindingResult = validate(saveForm(1000, 101));
+
+        //then
+        assertThat(bindingResult.getFieldError("quantity").getCode()).isEqualTo("Max");
+        assertThat(bindingResult.getFieldError("quantity").getArguments()).contains(100L);
+    }
+
+    @Test
+    void overrideRule() throws IOException {
+        //given
+        write("rules.totalPriceMin.condition=price * quantity >= 20000",
+                "rules.totalPriceMin.arguments=20000, price * quantity");
+        start();
+
+        //when
+        BindingResult bindingResult = validate(saveForm(1000, 15));
+
+        //then
+        assertThat(bindingResult.getGlobalError().getCode()).isEqualTo("totalPriceMin");
+        assertThat(bindingResult.getGlobalError().getArguments()).containsExactly(20000, 15000);
+    }
+
+    @Test
+    void keepPreviousOnError() throws IOException {
+        //given
+        write("ItemSaveForm.price.Range.max=20000000");
+        start();
+
+        //when - 복합 룰이 잘못되었으면 제약조건 값도 바꾸지 않는다.
+        write("ItemSaveForm.price.Range.max=30000000", "rules.totalPriceMin.condition=price *");
+        boolean reloaded = watcher.reload();
+
+        //then
+        assertThat(reloaded).isFalse();
+        assertThat(validate(saveForm(25000000, 1)).hasFieldErrors("price")).isTrue();
+        assertThat(validate(saveForm(15000000, 1)).hasFieldErrors("price")).isFalse();
+    }
+
+    @Test
+    void rejectInvalidItemLimit() throws IOException {
+        //given
+        write("Item.price.Range.min=2000");
+        start();
+
+        //when - ItemValidator 가 읽는 값이 숫자가 아니면 파일 전체를 적용하지 않는다.
+        write("Item.price.Range.min=10O0",
+                "rules.totalPriceMin.condition=price * quantity >= 20000",
+                "rules.totalPriceMin.arguments=20000, price * quantity");
+        boolean reloaded = watcher.reload();
+
+        //then
+        assertThat(reloaded).isFalse();
+        assertThat(validator.getOverrides().getLong(ConstraintOverrides.ITEM_PRICE_MIN, 1000)).isEqualTo(2000L);
+        assertThat(validate(saveForm(1000, 15)).hasGlobalErrors()).isFalse();
+    }
+
+    @Test
+    void rejectRuleWithoutType() throws IOException {
+        //given
+        start();
+
+        //when - 필드 이름 오타로 어느 타입에도 적용되지 않는 룰이면 다시 읽지 않는다.
+        write("rules.totalPriceMin.condition=price * quantiy >= 20000",
+                "rules.totalPriceMin.arguments=20000, price * quantiy");
+        boolean reloaded = watcher.reload();
+
+        //then - 이전 룰을 계속 검사한다.
+        assertThat(reloaded).isFalse();
+        assertThat(validate(saveForm(1000, 5)).getGlobalError().getCode()).isEqualTo("totalPriceMin");
+    }
+
+    @Test
+    void reloadOnChange() throws Exception {
+        //given
+        start();
+        assertThat(validate(saveForm(15000000, 1)).hasFieldErrors("price")).isTrue();
+
+        //when
+        write("ItemSaveForm.price.Range.max=20000000");
+
+        //then
+        assertThat(await(() -> !validate(saveForm(15000000, 1)).hasFieldErrors("price"))).isTrue();
+
+        //when - 파일을 지우면 어노테이션 값으로 돌아간다.
+        Files.delete(file);
+
+        //then
+        assertThat(await(() -> validate(saveForm(15000000, 1)).hasFieldErrors("price"))).isTrue();
+    }
+
+    private void start() throws IOException {
+        file = directory.resolve("validation.properties");
+        watcher = new ConstraintConfigWatcher(file, validator, crossFieldRules,
+                Map.of("totalPriceMin", new ValidationRuleProperties.Rule(
+                        "price * quantity >= 10000", "10000", "price * quantity")));
+        watcher.start();
+    }
+
+    private void write(String... lines) throws IOException {
+        file = directory.resolve("validation.properties");
+        Files.write(file, List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    private BindingResult validate(Object form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        validator.validate(form, bindingResult);
+        crossFieldRules.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        //  macOS 의 WatchService 는 폴링 방식이라 느리다.
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private static ItemSaveForm saveForm(Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static ItemEditForm editForm(Integer price) {
+        ItemEditForm form = new ItemEditForm();
+        form.setId(1L);
+        form.setItemName("itemA");
+        form.setPrice(price);
+        form.setQuantity(1);
+        return form;
+    }
+}
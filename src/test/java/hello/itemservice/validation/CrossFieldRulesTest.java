@@ -0,0 +1,156 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemEditForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CrossFieldRulesTest {
+
+    CrossFieldRules crossFieldRules = new CrossFieldRules(Map.of("totalPriceMin",
+            new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+            List.of(Item.class, ItemSaveForm.class, ItemEditForm.class));
+
+    @Test
+    void reject() {
+        //given
+        ItemSaveForm form = saveForm(1000, 5);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        crossFieldRules.validate(form, bindingResult);
+
+        //then - 손으로 작성한 검사와 같은 코드, 인자
+        ObjectError error = bindingResult.getGlobalError();
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(error.getCodes()).containsExactly("totalPriceMin.item", "totalPriceMin");
+        assertThat(error.getArguments()).containsExactly(10000, 5000);
+    }
+
+    @Test
+    void pass() {
+        //given
+        Item item = new Item("itemA", 1000, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        //when
+        crossFieldRules.validate(item, bindingResult);
+
+        //then
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void skipNullField() {
+        //given - 값이 없는 필드는 필드 검증(@NotNull)에서 처리한다.
+        ItemSaveForm form = saveForm(null, 1);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        crossFieldRules.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void noIntOverflow() {
+        //given - int 로 곱하면 음수가 되는 값
+        ItemSaveForm form = saveForm(100_000, 100_000);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+
+        //when
+        crossFieldRules.validate(form, bindingResult);
+
+        //then
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void operators() {
+        //given
+        Map<String, ValidationRuleProperties.Rule> rules = new LinkedHashMap<>();
+        rules.put("quantityRange", new ValidationRuleProperties.Rule("quantity > 0 and !(quantity == 13) or price - 1 < -1"));
+        rules.put("priceNotQuantity", new ValidationRuleProperties.Rule("price != quantity", "price + quantity"));
+        CrossFieldRules crossFieldRules = new CrossFieldRules(rules, List.of());
+
+        //when
+        BindingResult valid = validate(crossFieldRules, saveForm(1000, 10));
+        BindingResult invalid = validate(crossFieldRules, saveForm(13, 13));
+
+        //then
+        assertThat(valid.hasErrors()).isFalse();
+        assertThat(invalid.getGlobalErrors()).extracting("code").containsExactly("quantityRange", "priceNotQuantity");
+        assertThat(invalid.getGlobalErrors().get(1).getArguments()).containsExactly(26);
+    }
+
+    @Test
+    void failFast() {
+        //given
+        ItemSaveForm form = saveForm(1000, 5);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.rejectValue("itemName", "NotBlank");
+
+        //when - 이미 오류가 있으면 검사하지 않는다.
+        crossFieldRules.validate(form, bindingResult, true);
+
+        //then
+        assertThat(bindingResult.getGlobalErrorCount()).isZero();
+    }
+
+    @Test
+    void skipTypeWithoutField() {
+        //given - version 은 ItemEditForm 에만 있다.
+        CrossFieldRules crossFieldRules = new CrossFieldRules(Map.of("versioned",
+                new ValidationRuleProperties.Rule("version > 0")), List.of(ItemSaveForm.class, ItemEditForm.class));
+        ItemSaveForm form = saveForm(1000, 10);
+
+        //when
+        BindingResult bindingResult = validate(crossFieldRules, form);
+
+        //then
+        assertThat(bindingResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    void rejectRuleWithoutType() {
+        //when, then - 필드 이름이 틀려서 어느 타입에도 적용되지 않으면 시작할 때 실패한다.
+        assertThatThrownBy(() -> new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantiy >= 10000")), List.of(ItemSaveForm.class)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("totalPriceMin");
+    }
+
+    @Test
+    void invalidRule() {
+        assertThatThrownBy(() -> new CrossFieldRules(Map.of("method",
+                new ValidationRuleProperties.Rule("price.toString() == '1'")), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CrossFieldRules(Map.of("text",
+                new ValidationRuleProperties.Rule("itemName > 0")), List.of(ItemSaveForm.class)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BindingResult validate(CrossFieldRules crossFieldRules, Object target) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        crossFieldRules.validate(target, bindingResult);
+        return bindingResult;
+    }
+
+    private static ItemSaveForm saveForm(Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
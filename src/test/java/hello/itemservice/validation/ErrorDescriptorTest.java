@@ -0,0 +1,97 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ErrorDescriptorTest {
+
+    ErrorDescriptor priceRange = new ErrorDescriptor("price", "range", 1000L, 1000000L);
+
+    @Test
+    void rejectSharesArguments() {
+        //given
+        Item item = new Item("itemA", 10, 10);
+        BindingResult first = new BeanPropertyBindingResult(item, "item");
+        BindingResult second = new BeanPropertyBindingResult(item, "item");
+
+        //when
+        priceRange.reject(first, item.getPrice());
+        priceRange.reject(second, item.getPrice());
+
+        //then - rejectValue 와 같은 오류를 만들고, 인자 배열은 새로 만들지 않는다.
+        BindingResult expected = new BeanPropertyBindingResult(item, "item");
+        expected.rejectValue("price", "range", new Object[]{1000L, 1000000L}, null);
+        assertThat(first.getFieldError("price")).isEqualTo(expected.getFieldError("price"));
+        assertThat(first.getFieldError("price").getArguments())
+                .isSameAs(second.getFieldError("price").getArguments())
+                .isSameAs(priceRange.getArguments());
+    }
+
+    @Test
+    void lazyErrorsKeepReference() {
+        //given
+        Item item = new Item("itemA", 10, 10);
+        LazyErrors errors = new LazyErrors(item, "item", new DefaultMessageCodesResolver());
+
+        //when
+        priceRange.reject(errors, item.getPrice());
+        errors.pushNestedPath("other");
+        priceRange.reject(errors, item.getPrice());
+
+        //then - 중첩 경로 아래에서는 오류 코드가 달라지므로 공유하지 않는다.
+        LazyErrors.LazyError error = errors.getLazyErrors().get(0);
+        assertThat(error.getDescriptor()).isSameAs(priceRange);
+        assertThat(error.getArguments()).isSameAs(priceRange.getArguments());
+        assertThat(error.getRejectedValue()).isEqualTo(10);
+
+        LazyErrors.LazyError nested = errors.getLazyErrors().get(1);
+        assertThat(nested.getDescriptor()).isNull();
+        assertThat(nested.getField()).isEqualTo("other.price");
+    }
+
+    @Test
+    void messageIsResolvedOncePerObjectNameAndLocale() {
+        //given
+        AtomicInteger resolved = new AtomicInteger();
+
+        //when
+        String first = priceRange.message("item", Locale.KOREA, () -> "message" + resolved.incrementAndGet());
+        String second = priceRange.message("item", Locale.KOREA, () -> "message" + resolved.incrementAndGet());
+        String english = priceRange.message("item", Locale.ENGLISH, () -> "message" + resolved.incrementAndGet());
+        String missing = new ErrorDescriptor(null, "unknown").message("item", Locale.KOREA, () -> {
+            resolved.incrementAndGet();
+            return null;
+        });
+
+        //then
+        assertThat(first).isEqualTo("message1").isSameAs(second);
+        assertThat(english).isEqualTo("message2");
+        assertThat(missing).isNull();
+        assertThat(resolved).hasValue(3);
+    }
+
+    @Test
+    void keepAtMostMaxLocales() {
+        //given
+        AtomicInteger resolved = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            priceRange.message("item", new Locale("x" + i), () -> "message" + resolved.incrementAndGet());
+        }
+
+        //when
+        String cached = priceRange.message("item", new Locale("x0"), () -> "message" + resolved.incrementAndGet());
+        String notCached = priceRange.message("item", new Locale("x99"), () -> "message" + resolved.incrementAndGet());
+
+        //then - 처음 MAX_LOCALES 개만 보관하고, 그 뒤의 Locale 은 매번 찾는다.
+        assertThat(cached).isEqualTo("message1");
+        assertThat(notCached).isEqualTo("message101");
+    }
+}
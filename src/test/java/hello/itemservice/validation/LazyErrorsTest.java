@@ -0,0 +1,126 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * LazyErrors 가 BeanPropertyBindingResult 와 같은 오류를 만드는지, 읽기 전에는 오류 코드를 만들지 않는지 확인한다.
+ */
+class LazyErrorsTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+    static CompiledValidator compiledValidator;
+    static CrossFieldRules crossFieldRules;
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        compiledValidator = new CompiledValidator(beanValidator, List.of(ItemSaveForm.class));
+        crossFieldRules = new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                List.of(ItemSaveForm.class));
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.destroy();
+    }
+
+    @Test
+    void sameErrorsAsBindingResult() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(10);
+        form.setQuantity(100000);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        LazyErrors lazyErrors = new LazyErrors(form, "itemSaveForm", new DefaultMessageCodesResolver());
+
+        //when
+        compiledValidator.validate(form, bindingResult);
+        crossFieldRules.validate(form, bindingResult);
+        compiledValidator.validate(form, lazyErrors);
+        crossFieldRules.validate(form, lazyErrors);
+
+        //then - 순서, 필드, 코드 배열, 인자, 기본 메시지, 거부된 값이 모두 같다.
+        List<ObjectError> expected = bindingResult.getAllErrors();
+        List<ObjectError> actual = lazyErrors.getAllErrors();
+        assertThat(actual).hasSize(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).isEqualTo(expected.get(i));
+            assertThat(actual.get(i).getClass()).isEqualTo(expected.get(i).getClass());
+        }
+        assertThat(lazyErrors.getGlobalErrors()).containsExactlyElementsOf(bindingResult.getGlobalErrors());
+        assertThat(lazyErrors.getFieldErrors()).containsExactlyElementsOf(bindingResult.getFieldErrors());
+    }
+
+    @Test
+    void codesAreResolvedOnRead() {
+        //given
+        AtomicInteger resolved = new AtomicInteger();
+        MessageCodesResolver codesResolver = new DefaultMessageCodesResolver() {
+            @Override
+            public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+                resolved.incrementAndGet();
+                return super.resolveMessageCodes(errorCode, objectName, field, fieldType);
+            }
+        };
+        ItemSaveForm form = new ItemSaveForm();
+        form.setPrice(10);
+        LazyErrors lazyErrors = new LazyErrors(form, "itemSaveForm", codesResolver);
+
+        //when
+        lazyErrors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        lazyErrors.rejectValue("quantity", "max", new Object[]{9999}, null);
+
+        //then - 오류 수와 필드만 보면 코드를 만들지 않는다.
+        assertThat(lazyErrors.hasErrors()).isTrue();
+        assertThat(lazyErrors.getErrorCount()).isEqualTo(2);
+        assertThat(lazyErrors.hasFieldErrors("price")).isTrue();
+        assertThat(lazyErrors.hasFieldErrors("itemName")).isFalse();
+        assertThat(resolved).hasValue(0);
+
+        FieldError price = lazyErrors.getFieldError("price");
+        assertThat(price.getCodes()).containsExactly(
+                "range.itemSaveForm.price", "range.price", "range.java.lang.Integer", "range");
+        assertThat(price.getRejectedValue()).isEqualTo(10);
+        assertThat(resolved).hasValue(2);
+    }
+
+    @Test
+    void bindingFailureFromAddAllErrors() {
+        //given
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setQuantity(10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        bindingResult.addError(new FieldError("itemSaveForm", "price", "abc", true,
+                new String[]{"typeMismatch"}, null, null));
+        LazyErrors lazyErrors = new LazyErrors(form, "itemSaveForm", new DefaultMessageCodesResolver());
+
+        //when
+        lazyErrors.addAllErrors(bindingResult);
+        compiledValidator.validate(form, lazyErrors);
+
+        //then - 타입 변환에 실패한 필드에는 @NotNull 오류를 더하지 않는다.
+        assertThat(lazyErrors.isBindingFailure("price")).isTrue();
+        assertThat(lazyErrors.getFieldErrors("price")).hasSize(1);
+        assertThat(lazyErrors.getFieldError("price").getRejectedValue()).isEqualTo("abc");
+    }
+}
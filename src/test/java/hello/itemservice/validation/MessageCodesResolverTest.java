@@ -31,4 +31,19 @@ public class MessageCodesResolverTest {
                 "required.java.lang.String",
                 "required"  );
     }
+
+    @Test
+    void cachingMessageCodesResolver(){
+        MessageCodesResolver cachingResolver = new CachingMessageCodesResolver(codesResolver);
+
+        String[] first = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        String[] second = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+
+        Assertions.assertThat(first).containsExactly(
+                codesResolver.resolveMessageCodes("required", "item", "itemName", String.class));
+        //  같은 키는 같은 배열을 공유한다. (호출하는 쪽은 수정하면 안 된다)
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(cachingResolver.resolveMessageCodes("required", "item"))
+                .containsExactly("required.item", "required");
+    }
 }
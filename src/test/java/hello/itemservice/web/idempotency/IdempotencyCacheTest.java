@@ -0,0 +1,122 @@
+package hello.itemservice.web.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    static final byte[] FINGERPRINT = {1, 2, 3};
+
+    @Test
+    void claimOnce() throws Exception {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100);
+        IdempotencyCache.Entry entry = cache.tryClaim("key", FINGERPRINT);
+
+        //when
+        IdempotencyCache.Entry duplicate = cache.tryClaim("key", FINGERPRINT);
+        cache.complete(entry, new StoredResponse(302, "/items/1", null, new byte[0]));
+
+        //then
+        assertThat(entry).isNotNull();
+        assertThat(duplicate).isNull();
+        assertThat(cache.await(entry, Duration.ofSeconds(1)).getLocation()).isEqualTo("/items/1");
+    }
+
+    @Test
+    void waitForPending() throws Exception {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100);
+        IdempotencyCache.Entry entry = cache.tryClaim("key", FINGERPRINT);
+
+        //when - 처음 요청이 처리 중일 때 온 요청은 결과를 기다린다.
+        CompletableFuture<StoredResponse> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.await(entry, Duration.ofSeconds(5));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        cache.complete(entry, new StoredResponse(302, "/items/1", null, new byte[0]));
+
+        //then
+        assertThat(waiting.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(302);
+    }
+
+    @Test
+    void release() throws Exception {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100);
+        IdempotencyCache.Entry entry = cache.tryClaim("key", FINGERPRINT);
+
+        //when - 결과를 남기지 않으면 같은 키로 다시 처리할 수 있다.
+        cache.release(entry);
+
+        //then
+        assertThat(cache.await(entry, Duration.ofSeconds(1))).isNull();
+        assertThat(cache.tryClaim("key", FINGERPRINT)).isNotNull();
+    }
+
+    @Test
+    void expire() throws Exception {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMillis(10), 100);
+        cache.complete(cache.tryClaim("key", FINGERPRINT), new StoredResponse(302, "/items/1", null, new byte[0]));
+
+        //when
+        Thread.sleep(20);
+
+        //then
+        assertThat(cache.tryClaim("key", FINGERPRINT)).isNotNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void maxEntries() {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100);
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            cache.complete(cache.tryClaim("key" + i, FINGERPRINT), new StoredResponse(302, "/items/" + i, null, new byte[0]));
+        }
+
+        //then - 오래된 키부터 지운다.
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.tryClaim("key0", FINGERPRINT)).isNotNull();
+        assertThat(cache.tryClaim("key999", FINGERPRINT)).isNull();
+    }
+
+    @Test
+    void keepPendingWhenFull() {
+        //given - 처리 중인 항목만으로 가득 찼다.
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100);
+        for (int i = 0; i < 100; i++) {
+            cache.tryClaim("key" + i, FINGERPRINT);
+        }
+
+        //when, then - 처리 중인 키는 지우지 않으므로 재시도는 다시 차지하지 못하고, 새 키는 거절한다.
+        assertThatThrownBy(() -> cache.tryClaim("new", FINGERPRINT))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(cache.tryClaim("key0", FINGERPRINT)).isNull();
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    void fingerprint() {
+        //given
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofMinutes(1), 100);
+        cache.tryClaim("key", FINGERPRINT);
+
+        //then
+        assertThat(cache.get("key").isSameRequest(new byte[]{1, 2, 3})).isTrue();
+        assertThat(cache.get("key").isSameRequest(new byte[]{3, 2, 1})).isFalse();
+    }
+}
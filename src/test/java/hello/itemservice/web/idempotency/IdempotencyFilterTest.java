@@ -0,0 +1,209 @@
+package hello.itemservice.web.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    IdempotencyFilter filter = new IdempotencyFilter(
+            new IdempotencyCache(Duration.ofMinutes(1), 100), Duration.ofSeconds(1), 64);
+    AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void replayRedirect() throws Exception {
+        //given
+        FilterChain saved = (request, response) ->
+                ((HttpServletResponse) response).sendRedirect("/validation/v4/items/" + calls.incrementAndGet());
+
+        //when
+        MockHttpServletResponse first = submit(formRequest("key"), saved);
+        MockHttpServletResponse second = submit(formRequest("key"), saved);
+        MockHttpServletResponse other = submit(formRequest("other"), saved);
+
+        //then - 같은 키는 컨트롤러를 부르지 않고 처음 redirect 를 돌려준다.
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(second.getRedirectedUrl()).isEqualTo(first.getRedirectedUrl());
+        assertThat(other.getRedirectedUrl()).isNotEqualTo(first.getRedirectedUrl());
+    }
+
+    @Test
+    void retryAfterValidationError() throws Exception {
+        //given - 검증 실패는 폼을 다시 보여준다. (200)
+        FilterChain rejected = (request, response) -> calls.incrementAndGet();
+
+        //when
+        submit(formRequest("key"), rejected);
+        submit(formRequest("key"), rejected);
+
+        //then
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void replayApiResponse() throws Exception {
+        //given
+        FilterChain api = (request, response) -> {
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"id\":" + calls.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8));
+        };
+
+        //when
+        MockHttpServletResponse first = submit(apiRequest("key"), api);
+        MockHttpServletResponse second = submit(apiRequest("key"), api);
+
+        //then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(first.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(second.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(second.getContentType()).isEqualTo("application/json");
+    }
+
+    @Test
+    void differentBody() throws Exception {
+        //given
+        FilterChain api = (request, response) -> {
+            response.setContentType("application/json");
+            response.getOutputStream().write(request.getInputStream().readAllBytes());
+            calls.incrementAndGet();
+        };
+
+        //when - 같은 키에 다른 본문을 보내면 처음 응답을 돌려주지 않는다.
+        MockHttpServletResponse first = submit(apiRequest("1", "{\"itemName\":\"itemA\"}"), api);
+        MockHttpServletResponse second = submit(apiRequest("1", "{\"itemName\":\"itemB\"}"), api);
+
+        //then - 컨트롤러는 버퍼에 담아 둔 본문을 그대로 읽는다.
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(first.getContentAsString()).isEqualTo("{\"itemName\":\"itemA\"}");
+        assertThat(second.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void differentForm() throws Exception {
+        //given
+        FilterChain saved = (request, response) ->
+                ((HttpServletResponse) response).sendRedirect("/validation/v4/items/" + calls.incrementAndGet());
+        MockHttpServletRequest other = formRequest("key");
+        other.setParameter("itemName", "itemB");
+
+        //when
+        submit(formRequest("key"), saved);
+        MockHttpServletResponse second = submit(other, saved);
+
+        //then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(second.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void scopedToCaller() throws Exception {
+        //given - 서로 다른 세션의 클라이언트가 같은 키를 골랐다.
+        FilterChain saved = (request, response) ->
+                ((HttpServletResponse) response).sendRedirect("/validation/v4/items/" + calls.incrementAndGet());
+        MockHttpServletRequest first = formRequest("1");
+        first.setSession(new MockHttpSession());
+        MockHttpServletRequest second = formRequest("1");
+        second.setSession(new MockHttpSession());
+
+        //when
+        MockHttpServletResponse firstResponse = submit(first, saved);
+        MockHttpServletResponse secondResponse = submit(second, saved);
+
+        //then - 각자 저장되고, 다른 클라이언트의 응답을 받지 않는다.
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(secondResponse.getRedirectedUrl()).isNotEqualTo(firstResponse.getRedirectedUrl());
+    }
+
+    @Test
+    void bodyTooLarge() throws Exception {
+        //given
+        FilterChain api = (request, response) -> calls.incrementAndGet();
+        String body = "[" + "{}, ".repeat(30) + "{}]";
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/validation/api/items/bulk") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setContentType("application/json");
+        chunked.setContent(body.getBytes(StandardCharsets.UTF_8));
+        chunked.addHeader(IdempotencyFilter.HEADER, "2");
+
+        //when - 최대 크기(64)보다 큰 본문은 메모리에 담지 않고 거절한다. (Content-Length 가 없어도)
+        MockHttpServletResponse declared = submit(apiRequest("1", body), api);
+        MockHttpServletResponse streamed = submit(chunked, api);
+
+        //then
+        assertThat(calls.get()).isZero();
+        assertThat(declared.getStatus()).isEqualTo(413);
+        assertThat(streamed.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    void skipNdjson() throws Exception {
+        //given - NDJSON 등록은 본문을 읽는 대로 처리하므로 버퍼에 담지 않는다.
+        FilterChain api = (request, response) -> {
+            assertThat(request).isNotInstanceOf(BufferedBodyRequest.class);
+            calls.incrementAndGet();
+        };
+        MockHttpServletRequest request = apiRequest("1", "{}\n".repeat(100));
+        request.setContentType("Application/X-NDJSON; charset=UTF-8");
+
+        //when
+        MockHttpServletResponse response = submit(request, api);
+
+        //then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void withoutKey() throws Exception {
+        //given
+        FilterChain api = (request, response) -> calls.incrementAndGet();
+
+        //when
+        submit(apiRequest(null), api);
+        submit(apiRequest(null), api);
+
+        //then
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    private MockHttpServletResponse submit(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest formRequest(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/v4/items/add");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter(IdempotencyFilter.FORM_PARAMETER, key);
+        request.addParameter("itemName", "itemA");
+        return request;
+    }
+
+    private static MockHttpServletRequest apiRequest(String key) {
+        return apiRequest(key, "[]");
+    }
+
+    private static MockHttpServletRequest apiRequest(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/api/items/bulk");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.web.validation.ItemValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimedDataBinderTest {
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    ValidationMetrics metrics = new ValidationMetrics(registry);
+
+    @Test
+    void bindAndValidate() {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("itemName", "");
+        request.addParameter("price", "10");
+        request.addParameter("quantity", "qqq");
+
+        TimedDataBinder binder = new TimedDataBinder(new Item(), "item", metrics);
+        binder.setMessageCodesResolver(new MeteredMessageCodesResolver(new DefaultMessageCodesResolver(), metrics));
+        LocalValidatorFactoryBean beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        binder.addValidators(new ItemValidator(new CrossFieldRules(Map.of(), List.of()),
+                new CompiledValidator(beanValidator, List.of())));
+
+        //when
+        binder.bind(request);
+        binder.validate();
+
+        //then
+        assertThat(registry.get("item.binding").tag("kind", "parameter").timer().count()).isEqualTo(1);
+        assertThat(registry.get("item.validator").tag("validator", "ItemValidator").timer().count()).isEqualTo(1);
+
+        assertThat(rejected("typeMismatch", "quantity")).isEqualTo(1);
+        assertThat(rejected("required", "itemName")).isEqualTo(1);
+        assertThat(rejected("range", "price")).isEqualTo(1);
+        beanValidator.destroy();
+    }
+
+    private double rejected(String code, String field) {
+        return registry.get("item.rejected").tag("code", code).tag("field", field).counter().count();
+    }
+}
@@ -0,0 +1,119 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.validation.ErrorDescriptor;
+import hello.itemservice.validation.LazyErrors;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DefaultMessageCodesResolver;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ApiErrorConverterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ApiErrorConverter errorConverter;
+
+    ApiErrorConverterTest() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        errorConverter = new ApiErrorConverter(messageSource);
+    }
+
+    @Test
+    void convert() {
+        //given
+        BindingResult bindingResult = bindingResult();
+
+        //when
+        List<ApiError> errors = errorConverter.convert(bindingResult.getAllErrors(), Locale.KOREA);
+
+        //then
+        ApiError price = errors.get(0);
+        assertThat(price.getField()).isEqualTo("price");
+        assertThat(price.getCode()).isEqualTo("range");
+        assertThat(price.getMessage()).isEqualTo("가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+        assertThat(price.getRejectedValue()).isEqualTo(10);
+
+        ApiError totalPriceMin = errors.get(1);
+        assertThat(totalPriceMin.getField()).isNull();
+        assertThat(totalPriceMin.getMessage()).isEqualTo("상품의 가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = 100");
+    }
+
+    @Test
+    void convertLazyErrors() {
+        //given
+        LazyErrors lazyErrors = new LazyErrors(new PriceForm(10), "item", new DefaultMessageCodesResolver());
+        lazyErrors.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        lazyErrors.reject("totalPriceMin", new Object[]{10000, 100}, null);
+
+        //when
+        List<ApiError> errors = errorConverter.convert(lazyErrors, Locale.KOREA);
+
+        //then - BindingResult 를 변환한 결과와 같다.
+        List<ApiError> expected = errorConverter.convert(bindingResult().getAllErrors(), Locale.KOREA);
+        assertThat(errors).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void convertErrorDescriptor() {
+        //given
+        ErrorDescriptor priceRange = new ErrorDescriptor("price", "range", 1000, 1000000);
+        LazyErrors first = new LazyErrors(new PriceForm(10), "item", new DefaultMessageCodesResolver());
+        LazyErrors second = new LazyErrors(new PriceForm(20), "item", new DefaultMessageCodesResolver());
+        priceRange.reject(first, 10);
+        priceRange.reject(second, 20);
+
+        //when
+        ApiError firstError = errorConverter.convert(first, Locale.KOREA).get(0);
+        ApiError secondError = errorConverter.convert(second, Locale.KOREA).get(0);
+
+        //then - 메시지는 한 번 찾은 것을 재사용하고, 거부된 값은 오류마다 다르다.
+        assertThat(firstError.getMessage()).isEqualTo("가격은 1,000 ~ 1,000,000 까지 허용합니다.");
+        assertThat(secondError.getMessage()).isSameAs(firstError.getMessage());
+        assertThat(firstError.getRejectedValue()).isEqualTo(10);
+        assertThat(secondError.getRejectedValue()).isEqualTo(20);
+    }
+
+    @Test
+    void serialize() throws Exception {
+        //given
+        List<ApiError> errors = errorConverter.convert(bindingResult().getAllErrors(), Locale.KOREA);
+
+        //when
+        String json = objectMapper.writeValueAsString(errors);
+
+        //then
+        assertThat(json).isEqualTo("["
+                + "{\"field\":\"price\",\"code\":\"range\",\"message\":\"가격은 1,000 ~ 1,000,000 까지 허용합니다.\",\"rejectedValue\":10},"
+                + "{\"code\":\"totalPriceMin\",\"message\":\"상품의 가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = 100\"}"
+                + "]");
+    }
+
+    private static BindingResult bindingResult() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new PriceForm(10), "item");
+        bindingResult.setMessageCodesResolver(new DefaultMessageCodesResolver());
+        bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 100}, null);
+        return bindingResult;
+    }
+
+    public static class PriceForm {
+
+        private final Integer price;
+
+        PriceForm(Integer price) {
+            this.price = price;
+        }
+
+        public Integer getPrice() {
+            return price;
+        }
+    }
+}
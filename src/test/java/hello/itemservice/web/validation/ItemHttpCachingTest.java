@@ -0,0 +1,80 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "view.warmup.enabled=false")
+@AutoConfigureMockMvc
+class ItemHttpCachingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @SpyBean
+    ItemRepository itemRepository;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void itemsNotModified() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        String etag = mockMvc.perform(get("/validation/v2/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(itemRepository);
+
+        //when, then - 목록을 조회(페이징)하지 않고 렌더링도 하지 않는다.
+        mockMvc.perform(get("/validation/v2/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(itemRepository, never()).findPage(anyLong(), anyInt());
+
+        //when, then - 상품이 바뀌면 새로 렌더링한다.
+        itemRepository.save(new Item("itemB", 10000, 10));
+        mockMvc.perform(get("/validation/v2/items").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v2/items"));
+    }
+
+    @Test
+    void itemNotModified() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        String etag = mockMvc.perform(get("/validation/v2/items/{itemId}", item.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/");
+
+        //when, then - 상품은 조회하지만(version 확인) 렌더링하지 않는다.
+        mockMvc.perform(get("/validation/v2/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        //when, then - 같은 초 안에 수정해도 ETag 가 바뀐다.
+        Item updateParam = new Item("itemA", 20000, 10);
+        updateParam.setVersion(item.getVersion());
+        itemRepository.update(item.getId(), updateParam);
+        mockMvc.perform(get("/validation/v2/items/{itemId}", item.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v2/item"));
+    }
+}
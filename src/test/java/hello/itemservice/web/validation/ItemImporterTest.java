@@ -0,0 +1,258 @@
+package hello.itemservice.web.validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.ConstraintConfigWatcher;
+import hello.itemservice.validation.CrossFieldRules;
+import hello.itemservice.validation.ValidationRuleProperties;
+import hello.itemservice.web.validation.form.ItemEditForm;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemImporterTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+
+    ItemRepository itemRepository = new MemoryItemRepository();
+    ObjectMapper objectMapper = new ObjectMapper();
+    CompiledValidator validator;
+    CrossFieldRules crossFieldRules;
+    ApiErrorConverter errorConverter;
+    ItemImporter itemImporter;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.destroy();
+    }
+
+    ItemImporterTest() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        errorConverter = new ApiErrorConverter(messageSource);
+        validator = new CompiledValidator(beanValidator, List.of(ItemSaveForm.class, ItemEditForm.class));
+        crossFieldRules = new CrossFieldRules(Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity")),
+                List.of(ItemSaveForm.class));
+        itemImporter = new ItemImporter(itemRepository, validator, crossFieldRules, objectMapper, errorConverter,
+                ValidationResultCache.disabled());
+    }
+
+    @Test
+    void addAll() {
+        //given
+        List<ItemSaveForm> forms = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            //  10의 배수 index 는 이름이 없고, 7의 배수 index 는 가격 * 수량이 10000 미만이다.
+            forms.add(form(i % 10 == 0 ? " " : "item" + i, 1000, i % 7 == 0 ? 1 : 10));
+        }
+
+        //when
+        BulkAddResult result = itemImporter.addAll(forms);
+
+        //then
+        List<Integer> rejected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 == 0 || i % 7 == 0) {
+                rejected.add(i);
+            }
+        }
+        assertThat(result.getRequested()).isEqualTo(1000);
+        assertThat(result.getErrors().keySet()).containsExactlyElementsOf(rejected);
+        assertThat(result.getSavedIds()).hasSize(1000 - rejected.size());
+        assertThat(itemRepository.findAll()).hasSize(1000 - rejected.size());
+
+        List<String> codes = result.getErrors().get(70).stream().map(ApiError::getCode).collect(Collectors.toList());
+        assertThat(codes).containsExactlyInAnyOrder("NotBlank", "totalPriceMin");
+    }
+
+    @Test
+    void addAllFailFast() {
+        //given - 상품명, 가격, 복합 룰이 모두 실패
+        List<ItemSaveForm> forms = List.of(form(" ", 10, 10), form("itemA", 10000, 10));
+
+        //when
+        BulkAddResult result = itemImporter.addAll(forms, true);
+
+        //then - 실패한 상품은 오류 하나만 돌려준다.
+        assertThat(result.getErrors().get(0)).hasSize(1);
+        assertThat(result.getSavedIds()).hasSize(1);
+    }
+
+    @Test
+    void addAllWithNull() {
+        //given - JSON 배열의 null 원소
+        List<ItemSaveForm> forms = new ArrayList<>();
+        forms.add(form("itemA", 10000, 10));
+        forms.add(null);
+
+        //when
+        BulkAddResult result = itemImporter.addAll(forms);
+
+        //then - 그 index 만 required 로 거절한다.
+        assertThat(result.getSavedIds()).hasSize(1);
+        assertThat(result.getErrors().get(1)).extracting("field", "code").containsExactly(tuple(null, "required"));
+        assertThat(result.getErrors().get(1).get(0).getMessage()).isNotNull();
+    }
+
+    @Test
+    void addOnAnotherThread() throws Exception {
+        //given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        //when - 요청 스레드가 아닌 곳에서 검증/저장한다.
+        Object saved = CompletableFuture.supplyAsync(
+                () -> itemImporter.add(form("itemA", 10000, 10), Locale.KOREA), executor).get();
+        Object rejected = CompletableFuture.supplyAsync(
+                () -> itemImporter.add(form("itemB", 1000, 1), Locale.KOREA), executor).get();
+        executor.shutdown();
+
+        //then
+        assertThat(saved).isInstanceOf(Item.class);
+        assertThat(itemRepository.findById(((Item) saved).getId()).getItemName()).isEqualTo("itemA");
+        assertThat(rejected).asList().extracting("code").containsExactly("totalPriceMin");
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void cachedValidation() throws IOException {
+        //given
+        ValidationResultCache resultCache = new ValidationResultCache(100);
+        ItemImporter cachedImporter = new ItemImporter(itemRepository, validator, crossFieldRules, objectMapper,
+                errorConverter, resultCache);
+        List<ItemSaveForm> forms = List.of(form(" ", 10, 10), form("itemA", 10000, 10));
+
+        //when
+        BulkAddResult first = cachedImporter.addAll(forms);
+        BulkAddResult second = cachedImporter.addAll(List.of(form(" ", 10, 10), form("itemA", 10000, 10)));
+
+        //then - 같은 내용은 다시 검증하지 않고 같은 결과를 돌려준다.
+        assertThat(resultCache.hitCount()).isEqualTo(2);
+        assertThat(second.getErrors().get(0)).isEqualTo(first.getErrors().get(0));
+        assertThat(second.getSavedIds()).hasSize(1);
+
+        //when - 검증 설정이 바뀌면 다시 검증한다.
+        Path file = directory.resolve("validation.properties");
+        Files.write(file, List.of("ItemSaveForm.price.Range.min=10"));
+        new ConstraintConfigWatcher(file, validator, crossFieldRules, Map.of("totalPriceMin",
+                new ValidationRuleProperties.Rule("price * quantity >= 10000", "10000", "price * quantity"))).reload();
+        BulkAddResult reloaded = cachedImporter.addAll(forms);
+
+        //then
+        assertThat(resultCache.missCount()).isEqualTo(4);
+        assertThat(reloaded.getErrors().get(0)).extracting("field").doesNotContain("price");
+    }
+
+    @Test
+    void savedItems() {
+        //when
+        BulkAddResult result = itemImporter.addAll(List.of(form("itemA", 10000, 10), form("itemB", 20000, 20)));
+
+        //then
+        Item itemA = itemRepository.findById(result.getSavedIds().get(0));
+        Item itemB = itemRepository.findById(result.getSavedIds().get(1));
+        assertThat(itemA.getItemName()).isEqualTo("itemA");
+        assertThat(itemB.getItemName()).isEqualTo("itemB");
+        assertThat(result.getErrors()).isEmpty();
+    }
+
+    @Test
+    void importStream() throws Exception {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\" \",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemB\",\"price\":20000,\"quantity\":20}\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = itemImporter.importStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        //then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"index\":0", "\"id\":");
+        assertThat(lines[1]).contains("\"index\":1", "NotBlank").doesNotContain("\"id\":");
+        assertThat(lines[2]).contains("\"index\":2", "\"id\":");
+        assertThat(itemRepository.findAll()).extracting("itemName").containsExactly("itemA", "itemB");
+    }
+
+    @Test
+    void importStreamMalformed() throws Exception {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "{\"itemName\":\"itemB\",\"price\":\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = itemImporter.importStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        //then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(1);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains("\"index\":1", "\"code\":\"" + StreamRecordResult.MALFORMED_CODE + "\"")
+                .doesNotContain("com.fasterxml", "line:", "column:");
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void importStreamNull() throws Exception {
+        //given
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}\n"
+                + "null\n"
+                + "{\"itemName\":\"itemB\",\"price\":20000,\"quantity\":20}\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = itemImporter.importStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        //then - null 인 줄만 거절하고 나머지는 끝까지 처리한다.
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(3);
+        assertThat(lines[1]).contains("\"index\":1", "required").doesNotContain("\"id\":");
+        assertThat(itemRepository.findAll()).extracting("itemName").containsExactly("itemA", "itemB");
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
@@ -0,0 +1,48 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.validation.CompiledValidator;
+import hello.itemservice.validation.CrossFieldRules;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemValidatorTest {
+
+    static LocalValidatorFactoryBean beanValidator;
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.destroy();
+    }
+
+    @Test
+    void integerArguments() {
+        //given
+        ItemValidator itemValidator = new ItemValidator(new CrossFieldRules(Map.of(), List.of()),
+                new CompiledValidator(beanValidator, List.of()));
+        Item item = new Item("itemA", 10, 10000);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+
+        //when
+        itemValidator.validate(item, bindingResult);
+
+        //then - 설정 값은 long 으로 읽어도 메시지 인자는 복합 룰처럼 int 범위면 Integer 다.
+        assertThat(bindingResult.getFieldError("price").getArguments()).containsExactly(1000, 1000000);
+        assertThat(bindingResult.getFieldError("quantity").getArguments()).containsExactly(9999);
+    }
+}
@@ -0,0 +1,90 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.idempotency.IdempotencyFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "view.warmup.enabled=false")
+@AutoConfigureMockMvc
+class ValidationItemApiControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    //  시작할 때 TestDataInit 이 넣은 상품도 지운다.
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void addItemAsync() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(asyncAdd("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemName").value("itemA"));
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void addItemAsyncInvalid() throws Exception {
+        //when
+        MvcResult result = mockMvc.perform(asyncAdd("{\"itemName\":\"\",\"price\":10,\"quantity\":10}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then - 검증 실패는 400 과 오류 목록
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[*].field", hasItems("itemName", "price")));
+        assertThat(itemRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void addItemAsyncIdempotent() throws Exception {
+        //given
+        String form = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}";
+        MvcResult first = mockMvc.perform(asyncAdd(form).header(IdempotencyFilter.HEADER, "key"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String saved = mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //when - 같은 키로 다시 보내면 검증/저장하지 않고 처음 응답을 돌려준다.
+        mockMvc.perform(asyncAdd(form).header(IdempotencyFilter.HEADER, "key"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().string(saved));
+
+        //then
+        assertThat(itemRepository.findAll()).hasSize(1);
+    }
+
+    private static MockHttpServletRequestBuilder asyncAdd(String body) {
+        return post("/validation/api/items/async/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
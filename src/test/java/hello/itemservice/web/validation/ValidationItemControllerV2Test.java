@@ -0,0 +1,76 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "view.warmup.enabled=false")
+@AutoConfigureMockMvc
+class ValidationItemControllerV2Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void items() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when, then - 목록 화면의 page 모델에는 ItemValidator 를 붙이지 않는다.
+        mockMvc.perform(get("/validation/v2/items"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v2/items"))
+                .andExpect(model().attributeExists("page"));
+    }
+
+    @Test
+    void addInvalid() throws Exception {
+        //when, then - 등록 폼의 item 에는 그대로 ItemValidator 가 붙는다.
+        mockMvc.perform(post("/validation/v2/items/add")
+                        .param("itemName", "")
+                        .param("price", "10")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v2/addForm"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "itemName", "required"))
+                .andExpect(model().attributeHasFieldErrorCode("item", "price", "range"));
+    }
+
+    @Test
+    void editStale() throws Exception {
+        //given - 수정 폼을 연 뒤(version 1) 다른 사용자가 먼저 수정했다.
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        Item other = new Item("itemB", 20000, 20);
+        other.setVersion(1L);
+        itemRepository.update(item.getId(), other);
+
+        //when, then - 덮어쓰지 않고 수정 폼을 다시 보여준다.
+        mockMvc.perform(post("/validation/v2/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("version", "1")
+                        .param("itemName", "itemC")
+                        .param("price", "30000")
+                        .param("quantity", "30"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v2/editForm"))
+                .andExpect(model().attributeHasErrors("item"));
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemB");
+    }
+}
@@ -0,0 +1,79 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "view.warmup.enabled=false")
+@AutoConfigureMockMvc
+class ValidationItemControllerV3Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @AfterEach
+    void afterEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void editInvalid() throws Exception {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when - 가격 * 수량이 10000 미만
+        mockMvc.perform(post("/validation/v3/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("version", "1")
+                        .param("itemName", "itemA")
+                        .param("price", "1000")
+                        .param("quantity", "1"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v3/editForm"))
+                .andExpect(model().attributeHasErrors("item"));
+
+        //then - 저장하지 않았으므로 고쳐서 다시 제출하면(같은 version) 수정된다.
+        assertThat(itemRepository.findById(item.getId()).getVersion()).isEqualTo(1L);
+        mockMvc.perform(post("/validation/v3/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("version", "1")
+                        .param("itemName", "itemA")
+                        .param("price", "1000")
+                        .param("quantity", "20"))
+                .andExpect(status().is3xxRedirection());
+        assertThat(itemRepository.findById(item.getId()).getQuantity()).isEqualTo(20);
+    }
+
+    @Test
+    void editStale() throws Exception {
+        //given - 수정 폼을 연 뒤(version 1) 다른 사용자가 먼저 수정했다.
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        Item other = new Item("itemB", 20000, 20);
+        other.setVersion(1L);
+        itemRepository.update(item.getId(), other);
+
+        //when, then - 덮어쓰지 않고 수정 폼을 다시 보여준다.
+        mockMvc.perform(post("/validation/v3/items/{itemId}/edit", item.getId())
+                        .param("id", String.valueOf(item.getId()))
+                        .param("version", "1")
+                        .param("itemName", "itemC")
+                        .param("price", "30000")
+                        .param("quantity", "30"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v3/editForm"))
+                .andExpect(model().attributeHasErrors("item"));
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemB");
+    }
+}
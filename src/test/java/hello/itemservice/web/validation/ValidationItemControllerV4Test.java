@@ -0,0 +1,67 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "view.warmup.enabled=false")
+@AutoConfigureMockMvc
+class ValidationItemControllerV4Test {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    //  시작할 때 TestDataInit 이 넣은 상품도 지운다.
+    @BeforeEach
+    void beforeEach() {
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void search() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+
+        //when
+        MvcResult result = mockMvc.perform(get("/validation/v4/items/search").param("minPrice", "15000"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertThat((List<?>) result.getModelAndView().getModel().get("items")).extracting("itemName")
+                .containsExactly("itemB");
+    }
+
+    @Test
+    void searchMixedFilters() throws Exception {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when, then - 상품명과 가격 범위를 같이 보내면 검색하지 않고 검색 폼의 오류로 알린다.
+        mockMvc.perform(get("/validation/v4/items/search")
+                        .param("itemName", "item")
+                        .param("maxPrice", "20000"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("validation/v4/items"))
+                .andExpect(model().attributeHasErrors("search"))
+                .andExpect(model().attribute("items", empty()))
+                .andExpect(content().string(containsString("상품명과 가격 범위는 함께 검색할 수 없습니다.")));
+    }
+}
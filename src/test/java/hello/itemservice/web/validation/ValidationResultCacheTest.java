@@ -0,0 +1,95 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ValidationResultCacheTest {
+
+    ValidationResultCache cache = new ValidationResultCache(1000);
+    AtomicInteger validations = new AtomicInteger();
+    Object generation = new Object();
+
+    @Test
+    void sameContent() {
+        //when - 다른 객체라도 내용이 같으면 다시 검증하지 않는다.
+        List<ApiError> first = get(form("itemA", 100, 1), Locale.KOREA);
+        List<ApiError> second = get(form("itemA", 100, 1), Locale.KOREA);
+
+        //then
+        assertThat(validations.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void differentContentOrLocale() {
+        //when
+        get(form("itemA", 100, 1), Locale.KOREA);
+        get(form("itemA", 100, 2), Locale.KOREA);
+        get(form("itemA", 100, 1), Locale.ENGLISH);
+        get(form(null, null, null), Locale.KOREA);
+
+        //then
+        assertThat(validations.get()).isEqualTo(4);
+    }
+
+    @Test
+    void newGeneration() {
+        //given
+        get(form("itemA", 100, 1), Locale.KOREA);
+
+        //when - 검증 설정이 다시 로드되면 이전 결과를 쓰지 않는다.
+        generation = new Object();
+        get(form("itemA", 100, 1), Locale.KOREA);
+
+        //then
+        assertThat(validations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void maxEntries() {
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            get(form("item" + i, 100, 1), Locale.KOREA);
+        }
+
+        //then
+        assertThat(cache.size()).isLessThanOrEqualTo(1008);
+    }
+
+    @Test
+    void disabled() {
+        //given
+        cache = ValidationResultCache.disabled();
+
+        //when
+        get(form("itemA", 100, 1), Locale.KOREA);
+        get(form("itemA", 100, 1), Locale.KOREA);
+
+        //then
+        assertThat(validations.get()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private List<ApiError> get(ItemSaveForm form, Locale locale) {
+        return cache.get(form, false, locale, generation, () -> {
+            validations.incrementAndGet();
+            return List.of(new ApiError("price", "Range", "message", form.getPrice()));
+        });
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
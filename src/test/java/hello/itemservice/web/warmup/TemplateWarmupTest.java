@@ -0,0 +1,33 @@
+package hello.itemservice.web.warmup;
+
+import hello.itemservice.domain.item.MemoryItemRepository;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TemplateWarmupTest {
+
+    @Test
+    void parseTemplates() {
+        //given
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        TemplateWarmup warmup = new TemplateWarmup(templateEngine, new MemoryItemRepository(),
+                new ValidationMetrics(new SimpleMeterRegistry()));
+
+        //when
+        int parsed = warmup.parseTemplates();
+
+        //then - v1~v4 의 목록/상세/등록/수정 템플릿이 모두 캐시에 들어간다.
+        assertThat(parsed).isEqualTo(16);
+        assertThat(templateEngine.getConfiguration().getCacheManager().getTemplateCache().keySet())
+                .hasSize(16);
+    }
+}